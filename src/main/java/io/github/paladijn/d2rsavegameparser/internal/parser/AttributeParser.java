@@ -19,10 +19,8 @@ package io.github.paladijn.d2rsavegameparser.internal.parser;
 
 import io.github.paladijn.d2rsavegameparser.model.Attribute;
 import io.github.paladijn.d2rsavegameparser.model.CharacterAttributes;
+import io.github.paladijn.d2rsavegameparser.parser.ParseException;
 
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
-import java.util.BitSet;
 import java.util.List;
 
 /**
@@ -34,6 +32,24 @@ public final class AttributeParser {
     private static final int ID_BINARY_SIZE = 9;
     private static final int STOP_CODE = 0x01FF;
 
+    private static final int STRENGTH = 0;
+    private static final int ENERGY = 1;
+    private static final int DEXTERITY = 2;
+    private static final int VITALITY = 3;
+    private static final int STAT_POINTS = 4;
+    private static final int SKILL_POINTS = 5;
+    private static final int HIT_POINTS = 6;
+    private static final int MAX_HIT_POINTS = 7;
+    private static final int MANA = 8;
+    private static final int MAX_MANA = 9;
+    private static final int STAMINA = 10;
+    private static final int MAX_STAMINA = 11;
+    private static final int LEVEL = 12;
+    private static final int EXPERIENCE = 13;
+    private static final int GOLD = 14;
+    private static final int GOLD_IN_STASH = 15;
+
+    // indexed by the attribute id as stored in the savegame
     private static final List<Attribute> ATTRIBUTES = List.of(
             new Attribute("Strength", 10, 1),
             new Attribute("Energy", 10, 1),
@@ -53,68 +69,42 @@ public final class AttributeParser {
             new Attribute("Gold in stash", 25, 1)
     );
 
+    private static final int[] NUMBER_OF_BITS = ATTRIBUTES.stream().mapToInt(Attribute::numberOfBits).toArray();
+    private static final int[] COEFFICIENTS = ATTRIBUTES.stream().mapToInt(Attribute::coefficient).toArray();
+
     /**
-     * Parse the {@link CharacterAttributes} from the supplied bytes. These start at index 765 with identifier "gf". These are not fixed-length as statistics that don't exist (points left, gold at 0, etc.) are not stored.
-     * @param statBytes the bytes containing the character statistics
+     * Parse the {@link CharacterAttributes} from the supplied {@link BitReader}. These start at index 765 with identifier "gf". These are not fixed-length as statistics that don't exist (points left, gold at 0, etc.) are not stored.
+     * @param br a {@link BitReader} positioned at the first attribute id, right after the "gf" header
      * @return the parsed {@link CharacterAttributes}
      */
-    public CharacterAttributes parse(final byte[] statBytes) {
-        CharacterAttributes.CharacterAttributesBuilder builder = new CharacterAttributes.CharacterAttributesBuilder();
-        final BitSet bits = BitSet.valueOf(statBytes);
-
-        int currentPositionInBitSequence = 0;
-        while (true) {
-            int fromIndex = currentPositionInBitSequence;
-            int toIndex = fromIndex + ID_BINARY_SIZE;
+    public CharacterAttributes parse(final BitReader br) {
+        final long[] values = new long[ATTRIBUTES.size()];
 
-            int attributeId = bitsAsInt(bits.get(fromIndex, toIndex));
-            if (attributeId == STOP_CODE) {
-                break;
+        int attributeId = br.readInt(ID_BINARY_SIZE);
+        while (attributeId != STOP_CODE) {
+            if (attributeId >= values.length) {
+                throw new ParseException("Unknown character attribute id " + attributeId);
             }
-
-            Attribute attribute = ATTRIBUTES.get(attributeId);
-            fromIndex = toIndex;
-            toIndex = fromIndex + attribute.numberOfBits();
-            long attributeValue = bitsAsLong(bits.get(fromIndex, toIndex)) / attribute.coefficient();
-
-            builder = switch (attribute.name()) {
-                case "Strength" -> builder.strength(Math.toIntExact(attributeValue));
-                case "Energy" -> builder.energy(Math.toIntExact(attributeValue));
-                case "Dexterity" -> builder.dexterity(Math.toIntExact(attributeValue));
-                case "Vitality" -> builder.vitality(Math.toIntExact(attributeValue));
-                case "Stat points" -> builder.statPointsLeft(Math.toIntExact(attributeValue));
-                case "Skill points" -> builder.skillPointsLeft(Math.toIntExact(attributeValue));
-                case "Hit points" -> builder.hp(attributeValue);
-                case "Max hit points" -> builder.maxHP(attributeValue);
-                case "Mana" -> builder.mana(attributeValue);
-                case "Max mana" -> builder.maxMana(attributeValue);
-                case "Stamina points" -> builder.stamina(attributeValue);
-                case "Max stamina points" -> builder.maxStamina(attributeValue);
-                case "Level" -> builder.level(Math.toIntExact(attributeValue));
-                case "Experience" -> builder.experience(attributeValue);
-                case "Gold" -> builder.gold(attributeValue);
-                case "Gold in stash" -> builder.goldInStash(attributeValue);
-                default -> builder;
-            };
-
-            currentPositionInBitSequence = toIndex;
+            values[attributeId] = br.readLong(NUMBER_OF_BITS[attributeId]) / COEFFICIENTS[attributeId];
+            attributeId = br.readInt(ID_BINARY_SIZE);
         }
-        return builder.build();
-    }
-
-   private int bitsAsInt(BitSet bitSet) {
-        return ByteBuffer.allocate(Integer.BYTES)
-                .order(ByteOrder.LITTLE_ENDIAN)
-                .put(bitSet.toByteArray())
-                .rewind()
-                .getInt();
-    }
 
-    private long bitsAsLong(BitSet bitSet) {
-        return ByteBuffer.allocate(Long.BYTES)
-                .order(ByteOrder.LITTLE_ENDIAN)
-                .put(bitSet.toByteArray())
-                .rewind()
-                .getLong();
+        return new CharacterAttributes(
+                Math.toIntExact(values[STRENGTH]),
+                Math.toIntExact(values[ENERGY]),
+                Math.toIntExact(values[DEXTERITY]),
+                Math.toIntExact(values[VITALITY]),
+                Math.toIntExact(values[STAT_POINTS]),
+                Math.toIntExact(values[SKILL_POINTS]),
+                values[HIT_POINTS],
+                values[MAX_HIT_POINTS],
+                values[MANA],
+                values[MAX_MANA],
+                values[STAMINA],
+                values[MAX_STAMINA],
+                Math.toIntExact(values[LEVEL]),
+                values[EXPERIENCE],
+                values[GOLD],
+                values[GOLD_IN_STASH]);
     }
 }
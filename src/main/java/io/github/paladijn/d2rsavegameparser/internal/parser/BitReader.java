@@ -21,19 +21,28 @@ import io.github.paladijn.d2rsavegameparser.model.Item;
 import io.github.paladijn.d2rsavegameparser.parser.ParseException;
 import org.slf4j.Logger;
 
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Map;
 
 import static java.util.Map.entry;
 import static org.slf4j.LoggerFactory.getLogger;
 
+/**
+ * Reader for the bit-packed item and stat data in the savegame files. Values are stored LSB-first, so every read loads a 64-bit
+ * little-endian window at the current byte and extracts the requested field with a shift and a mask. The data can be a range of a
+ * byte array, a slice of a (memory-mapped) {@link ByteBuffer} or a {@link MemorySegment}, so the sections don't need to be copied
+ * out of the savegame file first. Bit positions are relative to the start of that range.
+ */
 public final class BitReader {
     private static final Logger log = getLogger(BitReader.class);
 
-    private final byte[] data;
-    private int positionInBits;
+    private static final int HUFFMAN_MAX_BITS = 9;
+    private static final int HUFFMAN_MAX_LENGTH = 100;
 
-    private final Map<String, Character> huffmanDictionary = Map.ofEntries(
+    private static final Map<String, Character> HUFFMAN_DICTIONARY = Map.ofEntries(
             entry("11110", 'a'),
             entry("0101", 'b'),
             entry("01000", 'c'),
@@ -73,11 +82,67 @@ public final class BitReader {
             entry( "01110", '9')
     );
 
+    /**
+     * Lookup table indexed by the next {@value #HUFFMAN_MAX_BITS} bits of the stream (LSB-first). Each entry holds the decoded character
+     * in the upper bits and the length of its code in the lowest byte, or 0 for a bit sequence that isn't a valid code.
+     */
+    private static final int[] HUFFMAN_TABLE = buildHuffmanTable();
+
+    private final ByteSource data;
+    private final int length;
+    private int positionInBits;
+
+    private final byte[] huffmanBuffer = new byte[HUFFMAN_MAX_LENGTH];
 
     public BitReader(byte[] data) {
+        this(ByteSource.of(data, 0, data.length));
+    }
+
+    /**
+     * Read a range of the array, without copying it.
+     * @param data the array to read
+     * @param offset the index of the first byte to read
+     * @param length the number of bytes to read
+     */
+    public BitReader(byte[] data, int offset, int length) {
+        this(ByteSource.of(data, offset, length));
+    }
+
+    /**
+     * Read the bytes between the position and the limit of the buffer, without copying them.
+     * @param data the {@link ByteBuffer} to read, for example a slice of a savegame file
+     */
+    public BitReader(ByteBuffer data) {
+        this(ByteSource.of(data));
+    }
+
+    /**
+     * Read a range of the buffer, regardless of its position and limit, without copying it.
+     * @param data the {@link ByteBuffer} to read, for example a memory-mapped savegame file
+     * @param offset the index of the first byte to read
+     * @param length the number of bytes to read
+     */
+    public BitReader(ByteBuffer data, int offset, int length) {
+        this(ByteSource.of(data.slice(offset, length)));
+    }
+
+    /**
+     * Read the whole segment, without copying it.
+     * @param data the {@link MemorySegment} to read, for example a slice of a memory-mapped savegame file
+     */
+    public BitReader(MemorySegment data) {
+        this(ByteSource.of(data));
+    }
+
+    private BitReader(ByteSource data) {
         this.data = data;
+        this.length = data.length();
         if (log.isDebugEnabled()) {
-            log.debug("itemData [{}]: {}", data.length, Arrays.toString(data));
+            final byte[] bytes = new byte[length];
+            for (int i = 0; i < length; i++) {
+                bytes[i] = data.get(i);
+            }
+            log.debug("itemData [{}]: {}", length, Arrays.toString(bytes));
         }
         positionInBits = 0;
     }
@@ -88,23 +153,21 @@ public final class BitReader {
      */
     public byte peekNextByte() {
         final int peekIndex = (positionInBits / 8) + (bitsToNextBoundary() == 0 ? 0 : 1);
-        if (peekIndex + 1 >= data.length) {
+        if (peekIndex + 1 >= length) {
             log.debug("peek: no more data available");
             return -1;
         }
 
-        log.debug("peeking at bit {}[{}] -> index {}[{}]", positionInBits, bitsToNextBoundary(), peekIndex, data[peekIndex]);
-
-        final byte result = data[peekIndex];
+        final byte result = data.get(peekIndex);
+        log.debug("peeking at bit {}[{}] -> index {}[{}]", positionInBits, bitsToNextBoundary(), peekIndex, result);
         if (log.isDebugEnabled()) {
-            log.debug("peek result: {}", "%8s".formatted(Integer.toBinaryString(data[peekIndex] & 0xFF)).replace(" ", "0"));
+            log.debug("peek result: {}", "%8s".formatted(Integer.toBinaryString(result & 0xFF)).replace(" ", "0"));
         }
         return result;
     }
 
     public long peekNextBytes(int bits) {
-        bits = Math.min(bits, 64);
-        return unflip(read(bits, false), bits);
+        return read(Math.min(bits, 64), false);
     }
 
     public void revert(int amount) {
@@ -126,15 +189,15 @@ public final class BitReader {
     }
 
     public char readChar(int bits) {
-        return (char) unflip(read(bits, true), bits);
+        return (char) read(bits, true);
     }
 
     public byte readByte(int bits) {
-        return (byte) unflip(read(bits, true), bits);
+        return (byte) read(bits, true);
     }
 
     public short readShort(int bits) {
-        return (short) unflip(read(bits, true), bits);
+        return (short) read(bits, true);
     }
 
     public int readInt() {
@@ -142,15 +205,22 @@ public final class BitReader {
     }
     
     public int readInt(int bits) {
-        return (int) unflip(read(bits, true), bits);
+        return (int) read(bits, true);
     }
 
     public long readLong(int bits) {
-        return unflip(read(bits, true), bits);
+        return read(bits, true);
     }
 
+    /**
+     * Read the bits in stream order, so the first bit read ends up as the most significant bit of the result.
+     * This is used for the item flags which are documented in that order.
+     */
     public int readFlippedInt(int bits) {
-        return (int) read(bits, true);
+        if (bits <= 0) {
+            return 0;
+        }
+        return (int) (Long.reverse(read(bits, true)) >>> (Long.SIZE - bits));
     }
 
     public int getPositionInBits() {
@@ -162,67 +232,101 @@ public final class BitReader {
     }
 
     private long read(int bits, boolean updatePosition) {
-        final int positionInBytes = positionInBits / 8;
-        final int bitsInLastByte = positionInBits % 8;
-
-        long result = 0;
-        for (int i = 0; i < 8; i++) {
-            result = result << 8;
-            if (positionInBytes + i < data.length) {
-                byte readByte = data[positionInBytes + i];
-                int unsigned = 0x000000ff & flipByte(readByte);
-                result += unsigned;
-            } else {
-                result += 0;
-            }
+        final long result = extract(positionInBits, bits);
+        if (updatePosition) {
+            increasePositionInBits(bits);
         }
+        return result;
+    }
 
-        result = result << bitsInLastByte;
-        result = result >>> (64 - bits);
+    /**
+     * Extract up to 64 bits starting at the supplied bit position. The first bit in the stream ends up as the least significant bit of the result.
+     * Bits beyond the end of the data are read as 0.
+     */
+    private long extract(int bitPosition, int bits) {
+        if (bits <= 0) {
+            return 0;
+        }
+        final int byteIndex = bitPosition >>> 3;
+        final int bitOffset = bitPosition & 7;
 
-        if (updatePosition) {
-            increasePositionInBits(bits);
+        long result = loadWord(byteIndex) >>> bitOffset;
+        if (bitOffset + bits > Long.SIZE) {
+            // the field straddles the 8-byte window, pull in the remaining bits from the ninth byte
+            result |= (long) byteAt(byteIndex + Long.BYTES) << (Long.SIZE - bitOffset);
         }
+        return bits == Long.SIZE ? result : result & ((1L << bits) - 1);
+    }
 
-        return result;
+    private long loadWord(int byteIndex) {
+        if (byteIndex + Long.BYTES <= length) {
+            return data.getLong(byteIndex);
+        }
+        // near the end of the data we assemble the window from the remaining bytes, padding with zeroes
+        long word = 0;
+        for (int i = Math.min(length, byteIndex + Long.BYTES) - 1; i >= byteIndex; i--) {
+            word = (word << 8) | (data.get(i) & 0xFF);
+        }
+        return word;
+    }
+
+    private int byteAt(int byteIndex) {
+        return byteIndex < length ? data.get(byteIndex) & 0xFF : 0;
     }
 
     public String readHuffmanEncodedString() {
-        StringBuilder reader = new StringBuilder();
-        StringBuilder result = new StringBuilder();
-        Character character;
-        do {
-            reader.append(read(1, true));
-            character = huffmanDictionary.get(reader.toString());
-            if (character != null && ' ' != character) {
-                result.append(character);
-                reader.setLength(0);
-            }
-            if (reader.length() > 100 || result.length() > 100) {
+        int length = 0;
+        for (int character = nextHuffmanCharacter(); character != ' '; character = nextHuffmanCharacter()) {
+            if (length == HUFFMAN_MAX_LENGTH) {
                 throw new ParseException("Huffman decoding failed, string too long");
             }
-        } while (character == null || ' ' != character);
-        return result.toString();
+            huffmanBuffer[length++] = (byte) character;
+        }
+        return new String(huffmanBuffer, 0, length, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Read a Huffman encoded item code, packed into an int as described in {@link ParseHelper#packItemCode(String)}.
+     * This avoids creating a String for every item, the canonical one can be looked up from the txt data.
+     * @return the packed item code
+     */
+    public int readHuffmanEncodedCode() {
+        int packedCode = 0;
+        int shift = 0;
+        for (int character = nextHuffmanCharacter(); character != ' '; character = nextHuffmanCharacter()) {
+            if (shift == Integer.SIZE) {
+                throw new ParseException("Huffman decoding failed, item code longer than 4 characters");
+            }
+            packedCode |= character << shift;
+            shift += 8;
+        }
+        return packedCode;
     }
 
-    private static int flipByte(byte b) {
-        int ret = 0;
-        for (int i = 0; i < 8; i++) {
-            int bit = (b >> i) & 0x01;
-            ret = ret << 1;
-            ret += bit;
+    private int nextHuffmanCharacter() {
+        final int entry = HUFFMAN_TABLE[(int) extract(positionInBits, HUFFMAN_MAX_BITS)];
+        if (entry == 0) {
+            throw new ParseException("Huffman decoding failed, unknown bit sequence at bit " + positionInBits);
         }
-        return ret;
+        increasePositionInBits(entry & 0xFF);
+        return entry >>> 8;
     }
 
-    private long unflip(long l, int bits) {
-        long ret = 0;
-        for (int i = 0; i < bits; i++) {
-            int bit = (int) ((l >> i) & 0x01);
-            ret = ret << 1;
-            ret += bit;
+    private static int[] buildHuffmanTable() {
+        final int[] table = new int[1 << HUFFMAN_MAX_BITS];
+        for (Map.Entry<String, Character> code : HUFFMAN_DICTIONARY.entrySet()) {
+            final String bits = code.getKey();
+            // the first bit of the code is the first bit in the stream, so it ends up as the least significant bit of the index
+            int prefix = 0;
+            for (int i = 0; i < bits.length(); i++) {
+                prefix |= (bits.charAt(i) - '0') << i;
+            }
+            // every index that starts with this code decodes to the same character, regardless of the bits that follow
+            for (int suffix = 0; suffix < 1 << (HUFFMAN_MAX_BITS - bits.length()); suffix++) {
+                table[prefix | (suffix << bits.length())] = (code.getValue() << 8) | bits.length();
+            }
         }
-        return ret;
+        return table;
     }
 
     /**
@@ -232,8 +336,8 @@ public final class BitReader {
      */
     public void printBytes(Item item, int startIndex) {
         int endIndex = positionInBits / 8;
-        if (endIndex >= data.length) {
-            endIndex = data.length -1;
+        if (endIndex >= length) {
+            endIndex = length -1;
         }
         log.debug("printing bytes {} -> {} of {}", startIndex, endIndex, item);
         StringBuilder sbBytes = new StringBuilder();
@@ -247,7 +351,7 @@ public final class BitReader {
             if (i > startIndex) {
                 sbBytes.append(", ");
             }
-            sbBytes.append(data[i]);
+            sbBytes.append(data.get(i));
         }
 
         sbBytes.append("};");
@@ -261,8 +365,8 @@ public final class BitReader {
      */
     public void printHexBytes(Item item, int startIndex) {
         int endIndex = positionInBits / 8;
-        if (endIndex >= data.length) {
-            endIndex = data.length -1;
+        if (endIndex >= length) {
+            endIndex = length -1;
         }
         log.debug("printing hex bytes {} -> {} of {}", startIndex, endIndex, item.itemName());
         StringBuilder sbBytes = new StringBuilder();
@@ -275,7 +379,7 @@ public final class BitReader {
                 sbBytes.append("\n");
             }
             displayIndex++;
-            sbBytes.append("%02X ".formatted(data[i]));
+            sbBytes.append("%02X ".formatted(data.get(i)));
         }
 
         sbBytes.append("\n");
@@ -284,6 +388,6 @@ public final class BitReader {
 
     public byte getCurrentByte() {
         int peekIndex = (positionInBits / 8);
-        return data[peekIndex];
+        return data.get(peekIndex);
     }
 }
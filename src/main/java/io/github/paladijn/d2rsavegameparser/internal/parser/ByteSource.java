@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2026   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.internal.parser;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+/**
+ * The bytes a {@link BitReader} reads from: a range of a heap array, a heap or direct {@link ByteBuffer}, or a {@link MemorySegment}.
+ * Indices are relative to the start of the range, so a reader can work on a section of a savegame file without copying it.
+ */
+sealed interface ByteSource {
+
+    /**
+     * @return the number of bytes available
+     */
+    int length();
+
+    /**
+     * @param index the index of the byte, between 0 and {@link #length()}
+     * @return the byte at the index
+     */
+    byte get(int index);
+
+    /**
+     * @param index the index of the first byte, the 8 bytes need to be available
+     * @return the 8 bytes at the index as a little-endian long
+     */
+    long getLong(int index);
+
+    static ByteSource of(final byte[] bytes, final int offset, final int length) {
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        return new ArraySource(bytes, offset, length);
+    }
+
+    static ByteSource of(final ByteBuffer buffer) {
+        return new BufferSource(buffer.slice().order(ByteOrder.LITTLE_ENDIAN));
+    }
+
+    static ByteSource of(final MemorySegment segment) {
+        if (segment.byteSize() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Segment of %d bytes is too large".formatted(segment.byteSize()));
+        }
+        return new SegmentSource(segment);
+    }
+
+    record ArraySource(byte[] bytes, int offset, int length) implements ByteSource {
+        private static final VarHandle LONG_LITTLE_ENDIAN = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+        @Override
+        public byte get(final int index) {
+            return bytes[offset + index];
+        }
+
+        @Override
+        public long getLong(final int index) {
+            return (long) LONG_LITTLE_ENDIAN.get(bytes, offset + index);
+        }
+    }
+
+    record BufferSource(ByteBuffer buffer) implements ByteSource {
+        @Override
+        public int length() {
+            return buffer.limit();
+        }
+
+        @Override
+        public byte get(final int index) {
+            return buffer.get(index);
+        }
+
+        @Override
+        public long getLong(final int index) {
+            return buffer.getLong(index);
+        }
+    }
+
+    record SegmentSource(MemorySegment segment) implements ByteSource {
+        private static final ValueLayout.OfLong LONG_LITTLE_ENDIAN = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+        @Override
+        public int length() {
+            return (int) segment.byteSize();
+        }
+
+        @Override
+        public byte get(final int index) {
+            return segment.get(ValueLayout.JAVA_BYTE, index);
+        }
+
+        @Override
+        public long getLong(final int index) {
+            return segment.get(LONG_LITTLE_ENDIAN, index);
+        }
+    }
+}
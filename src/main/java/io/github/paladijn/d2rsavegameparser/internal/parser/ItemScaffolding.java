@@ -25,6 +25,7 @@ import java.util.List;
 
 public final class ItemScaffolding {
     private final String code;
+    private final int packedCode;
     private final String itemName;
     private final String type;
     private final String type2;
@@ -50,10 +51,11 @@ public final class ItemScaffolding {
     private ItemQuality quality;
     private List<Item> socketedItems = List.of();
 
-    public ItemScaffolding(String code, String itemName, String type, String type2, int reqStr, int reqDex, int reqLvl,
+    public ItemScaffolding(String code, int packedCode, String itemName, String type, String type2, int reqStr, int reqDex, int reqLvl,
                            boolean isPersonalized, boolean isRuneword, boolean isSocketed, boolean isEthereal,
                            ItemType itemType, int invWidth, int invHeight, int maxStacks, boolean hasChronicleData, boolean hasQuestDifficulty) {
         this.code = code;
+        this.packedCode = packedCode;
         this.itemName = itemName;
         this.type = type;
         this.type2 = type2;
@@ -76,6 +78,10 @@ public final class ItemScaffolding {
         return code;
     }
 
+    public int getPackedCode() {
+        return packedCode;
+    }
+
     public String getItemName() {
         return itemName;
     }
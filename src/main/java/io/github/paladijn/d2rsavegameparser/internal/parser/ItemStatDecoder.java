@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2026   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.internal.parser;
+
+import io.github.paladijn.d2rsavegameparser.model.ItemProperty;
+import io.github.paladijn.d2rsavegameparser.txt.ItemStatCost;
+import io.github.paladijn.d2rsavegameparser.txt.TXTProperties;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Decoder for the item properties in the savegame, with the decoding rules of every stat compiled once from itemstatcost.txt.
+ * A property is stored as a 9-bit stat id followed by its values, the list ends with {@link ParseHelper#PROPERTY_END}.
+ * <p>
+ * Stats with a param store it before the value. Skills on an event (encode 2) and charged skills (encode 3) split the param in
+ * the skill level and id, and charged skills split the value in the (max) charges. Some damage stats are always followed by
+ * the stats with the next id(s) without their own stat id, e.g. the maximum after the minimum cold damage and the duration.
+ *
+ * @author Paladijn
+ */
+public final class ItemStatDecoder {
+    private static final Logger log = getLogger(ItemStatDecoder.class);
+
+    private static final int STAT_ID_BITS = 9;
+
+    private static final int SKILL_LEVEL_BITS = 6;
+
+    private static final int ENCODE_SKILL_ON_EVENT = 2;
+    private static final int ENCODE_CHARGED_SKILL = 3;
+
+    /**
+     * The damage stats which are followed by the given number of stats with the next ids.
+     */
+    private static final int[][] CHAINED_STATS = {
+            {ParseHelper.PROPERTY_PHYS_MAX_DMG, 1},
+            {ParseHelper.PROPERTY_FIRE_MIN_DMG, 1},
+            {ParseHelper.PROPERTY_LIGHT_MIN_DMG, 1},
+            {ParseHelper.PROPERTY_MAGIC_MIN_DMG, 1},
+            {ParseHelper.PROPERTY_COLD_MIN_DMG, 2}, // also includes the duration
+            {ParseHelper.PROPERTY_POISON_MIN_DMG, 2} // also includes the duration
+    };
+
+    private static volatile ItemStatDecoder cached;
+
+    private final TXTProperties txtProperties;
+
+    private final StatPlan[] plans = new StatPlan[ParseHelper.PROPERTY_END];
+
+    /**
+     * How to decode a single stat: the bit widths of its values, in the order they are stored, and the stats that follow it.
+     */
+    private record StatPlan(int id, String stat, int[] bitWidths, int saveAdd, int descPriority, List<StatPlan> followedBy) {
+        ItemProperty read(final BitReader br, final int qualityFlag) {
+            final int[] values = new int[bitWidths.length];
+            for (int i = 0; i < bitWidths.length; i++) {
+                values[i] = br.readInt(bitWidths[i]) - saveAdd;
+            }
+            return new ItemProperty(id, stat, values, qualityFlag, descPriority);
+        }
+    }
+
+    private ItemStatDecoder(final TXTProperties txtProperties) {
+        this.txtProperties = txtProperties;
+        for (int id = 0; id < plans.length; id++) {
+            final ItemStatCost itemStatCost = txtProperties.getItemStatCostsByID(id);
+            if (itemStatCost != null) {
+                plans[id] = new StatPlan(id, itemStatCost.getStat(), bitWidths(itemStatCost), itemStatCost.getSaveAdd(),
+                        itemStatCost.getDescPriority(), List.of());
+            }
+        }
+        for (int[] chain : CHAINED_STATS) {
+            final StatPlan plan = plans[chain[0]];
+            if (plan == null) {
+                continue;
+            }
+            final List<StatPlan> followedBy = new ArrayList<>();
+            for (int next = 1; next <= chain[1]; next++) {
+                if (plans[chain[0] + next] != null) {
+                    followedBy.add(plans[chain[0] + next]);
+                }
+            }
+            plans[chain[0]] = new StatPlan(plan.id(), plan.stat(), plan.bitWidths(), plan.saveAdd(), plan.descPriority(), List.copyOf(followedBy));
+        }
+    }
+
+    /**
+     * Retrieve the decoder for the stats in the supplied {@link TXTProperties}, which is only compiled once.
+     *
+     * @param txtProperties the txt files to take the stats from
+     * @return the {@link ItemStatDecoder} for these txt files
+     */
+    public static ItemStatDecoder of(final TXTProperties txtProperties) {
+        ItemStatDecoder decoder = cached;
+        if (decoder == null || decoder.txtProperties != txtProperties) {
+            decoder = new ItemStatDecoder(txtProperties);
+            cached = decoder;
+        }
+        return decoder;
+    }
+
+    /**
+     * Read the list of properties at the current position, up to and including the {@link ParseHelper#PROPERTY_END} marker.
+     * Reading stops early at a stat id that isn't in itemstatcost.txt, as the length of its values is unknown.
+     *
+     * @param br the {@link BitReader} positioned at the first stat id
+     * @param qualityFlag the quality flag to set on the properties
+     * @return the properties that were read
+     */
+    public List<ItemProperty> readProperties(final BitReader br, final int qualityFlag) {
+        final List<ItemProperty> properties = new ArrayList<>();
+        int id = br.readInt(STAT_ID_BITS);
+        while (id != ParseHelper.PROPERTY_END) {
+            final StatPlan plan = plans[id];
+            if (plan == null) {
+                log.debug("unknown stat id {}, stopped reading properties", id);
+                break;
+            }
+            final ItemProperty itemProperty = plan.read(br, qualityFlag);
+            log.debug("rootprop: {}, property: {}", id, itemProperty);
+            properties.add(itemProperty);
+            for (StatPlan followUp : plan.followedBy()) {
+                properties.add(followUp.read(br, qualityFlag));
+            }
+            id = br.readInt(STAT_ID_BITS);
+        }
+        return properties;
+    }
+
+    private static int[] bitWidths(final ItemStatCost itemStatCost) {
+        final int saveBits = itemStatCost.getSaveBits();
+        final int saveParamBits = itemStatCost.getSaveParamBits();
+        return switch (itemStatCost.getEncode()) {
+            case ENCODE_SKILL_ON_EVENT -> new int[]{SKILL_LEVEL_BITS, saveParamBits - SKILL_LEVEL_BITS, saveBits};
+            case ENCODE_CHARGED_SKILL -> new int[]{SKILL_LEVEL_BITS, saveParamBits - SKILL_LEVEL_BITS, saveBits / 2, saveBits - saveBits / 2};
+            default -> saveParamBits >= 0 ? new int[]{saveParamBits, saveBits} : new int[]{saveBits};
+        };
+    }
+}
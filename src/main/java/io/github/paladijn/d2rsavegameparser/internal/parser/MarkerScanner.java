@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2026   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.internal.parser;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Locates the two-character section markers of the savegame files, such as "JM" before an item list or "kf" before the iron golem,
+ * without copying any bytes. A marker is compared as a 16-bit little-endian value and the scans check seven offsets at once by
+ * loading 8 bytes into a long and looking for bytes equal to the first and second character (SWAR), only verifying the candidates.
+ */
+public final class MarkerScanner {
+    public static final int JM = marker("JM");
+    public static final int QUEST_WO = marker("Wo");
+    public static final int QUEST_O = marker("o!");
+    public static final int WAYPOINTS = marker("WS");
+    public static final int NPC = marker("w4");
+    public static final int STATS = marker("gf");
+    public static final int SKILLS = marker("if");
+    public static final int MERCENARY = marker("jf");
+    public static final int IRON_GOLEM = marker("kf");
+    /** 55 AA, the start of a shared stash tab has it twice. */
+    public static final int STASH_HEADER = 0x55 | 0xAA << 8;
+
+    private static final long ONES = 0x0101010101010101L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    // the second character of the marker at the last byte of a word lies in the next word, so that byte is never a candidate
+    private static final long CANDIDATE_BITS = 0x0080808080808080L;
+    private static final int OFFSETS_PER_WORD = Long.BYTES - 1;
+
+    private MarkerScanner() {
+        // Helper class, don't instantiate me.
+    }
+
+    /**
+     * Pack a two-character marker into the 16-bit little-endian value it has in the file.
+     * @param marker the marker, for example "JM"
+     * @return the packed marker
+     */
+    public static int marker(final String marker) {
+        if (marker.length() != 2) {
+            throw new IllegalArgumentException("Markers are two characters, got '%s'".formatted(marker));
+        }
+        return (marker.charAt(0) & 0xFF) | (marker.charAt(1) & 0xFF) << 8;
+    }
+
+    /**
+     * Check whether the marker is at the supplied index.
+     * @param buffer the savegame data
+     * @param index the index of the first character
+     * @param marker the marker as packed by {@link #marker(String)}
+     * @return true if both characters match, false if not or if the index is out of range
+     */
+    public static boolean matches(final ByteBuffer buffer, final int index, final int marker) {
+        return index >= 0 && index + 1 < buffer.limit()
+                && ((buffer.get(index) & 0xFF) | (buffer.get(index + 1) & 0xFF) << 8) == marker;
+    }
+
+    /**
+     * Find the first occurrence of the marker.
+     * @param buffer the savegame data
+     * @param marker the marker as packed by {@link #marker(String)}
+     * @param from the first index to check
+     * @param to the index to stop at (exclusive)
+     * @return the index of the marker or -1 if it wasn't found
+     */
+    public static int indexOf(final ByteBuffer buffer, final int marker, final int from, final int to) {
+        final int end = Math.min(to, buffer.limit() - 1);
+        int index = Math.max(from, 0);
+        for (; index < end && index + Long.BYTES <= buffer.limit(); index += OFFSETS_PER_WORD) {
+            for (long candidates = candidates(buffer, index, marker); candidates != 0; candidates &= candidates - 1) {
+                final int candidate = index + (Long.numberOfTrailingZeros(candidates) >>> 3);
+                if (candidate >= end) {
+                    return -1;
+                }
+                if (matches(buffer, candidate, marker)) {
+                    return candidate;
+                }
+            }
+        }
+        for (; index < end; index++) {
+            if (matches(buffer, index, marker)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Find the last occurrence of the marker, scanning backwards.
+     * @param buffer the savegame data
+     * @param marker the marker as packed by {@link #marker(String)}
+     * @param from the first (highest) index to check
+     * @param downTo the index to stop at (exclusive)
+     * @return the index of the marker or -1 if it wasn't found
+     */
+    public static int lastIndexOf(final ByteBuffer buffer, final int marker, final int from, final int downTo) {
+        final int start = Math.min(from, buffer.limit() - 2);
+        int wordStart = start - (OFFSETS_PER_WORD - 1);
+        for (; wordStart > downTo && wordStart >= 0; wordStart -= OFFSETS_PER_WORD) {
+            for (long candidates = candidates(buffer, wordStart, marker); candidates != 0;
+                 candidates &= ~Long.highestOneBit(candidates)) {
+                final int candidate = wordStart + ((Long.SIZE - 1 - Long.numberOfLeadingZeros(candidates)) >>> 3);
+                if (matches(buffer, candidate, marker)) {
+                    return candidate;
+                }
+            }
+        }
+        for (int index = Math.min(wordStart + OFFSETS_PER_WORD - 1, start); index > downTo && index >= 0; index--) {
+            if (matches(buffer, index, marker)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Mark the bytes of the word at the index that could start the marker, with the high bit of each such byte set. A byte is marked
+     * when it equals the first character and the next byte equals the second. The zero-byte test can also mark a byte right above a
+     * real match, so every candidate still needs to be verified.
+     */
+    private static long candidates(final ByteBuffer buffer, final int index, final int marker) {
+        final long word = buffer.order() == ByteOrder.LITTLE_ENDIAN ? buffer.getLong(index) : Long.reverseBytes(buffer.getLong(index));
+        final long first = word ^ (ONES * (marker & 0xFF));
+        final long second = (word >>> 8) ^ (ONES * (marker >>> 8));
+        return zeroBytes(first) & zeroBytes(second) & CANDIDATE_BITS;
+    }
+
+    private static long zeroBytes(final long value) {
+        return (value - ONES) & ~value & HIGH_BITS;
+    }
+}
@@ -17,6 +17,11 @@
  */
 package io.github.paladijn.d2rsavegameparser.internal.parser;
 
+import io.github.paladijn.d2rsavegameparser.parser.ParseException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 public final class ParseHelper {
     public static final int PROPERTY_PHYS_MAX_DMG = 17;
     public static final int PROPERTY_FIRE_MIN_DMG = 48;
@@ -25,20 +30,64 @@ public final class ParseHelper {
     public static final int PROPERTY_COLD_MIN_DMG = 54;
     public static final int PROPERTY_POISON_MIN_DMG = 57;
     public static final int PROPERTY_UNDEAD_DMG = 122;
-    public static final int PROPERTY_SKILL_ATTACK = 195;
-    public static final int PROPERTY_SKILL_KILL = 196;
-    public static final int PROPERTY_SKILL_DEATH = 197;
-    public static final int PROPERTY_SKILL_HIT = 198;
-    public static final int PROPERTY_SKILL_LEVEL_UP = 199;
-    public static final int PROPERTY_SKILL_GET_HIT = 201;
-    public static final int PROPERTY_CHARGED_SKILL = 204;
     public static final int PROPERTY_END = 511;
 
     private ParseHelper() {
         // Helper class, don't instantiate me.
     }
 
+    /**
+     * Wait for work done on another thread, rethrowing the {@link ParseException} or any other runtime exception or error it failed
+     * with, so the caller sees the same exception as when the work was done on its own thread.
+     * @param future the (future) result of the work
+     * @return the result
+     * @param <T> the type of the result
+     */
+    public static <T> T join(final CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
     public static boolean isNumeric(final String input) {
         return input != null && input.matches("[-+]?\\d+(\\.\\d+)?");
     }
+
+    /**
+     * Pack an item code of at most four characters into an int, the first character in the lowest byte. Item codes are
+     * ASCII, so the packed value is never 0 for a non-empty code.
+     * @param code the item code, for example "r01"
+     * @return the packed item code
+     */
+    public static int packItemCode(final String code) {
+        if (code.length() > 4) {
+            throw new ParseException("Item code '%s' is longer than 4 characters".formatted(code));
+        }
+        int packedCode = 0;
+        for (int i = 0; i < code.length(); i++) {
+            packedCode |= (code.charAt(i) & 0xFF) << (i * 8);
+        }
+        return packedCode;
+    }
+
+    /**
+     * Reverse of {@link #packItemCode(String)}, only meant for logging and error messages.
+     * @param packedCode the packed item code
+     * @return the item code as a String
+     */
+    public static String unpackItemCode(final int packedCode) {
+        final StringBuilder code = new StringBuilder(4);
+        for (int remaining = packedCode; remaining != 0; remaining >>>= 8) {
+            code.append((char) (remaining & 0xFF));
+        }
+        return code.toString();
+    }
 }
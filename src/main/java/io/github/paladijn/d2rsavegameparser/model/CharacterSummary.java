@@ -0,0 +1,36 @@
+/*
+ * Copyright (C) 2026   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.model;
+
+/**
+ * The fixed header fields of a character savegame file, for example to list many characters with their class and level without
+ * parsing the rest of the files.
+ * @param fileData the version, size and timestamp of the file.
+ * @param name name of the character.
+ * @param characterType the class of the character.
+ * @param level the character level.
+ * @param hardcore true if this is a hardcore character.
+ * @param died true if the character has died at least once.
+ * @param lordOfDestruction true if this is a Lord of Destruction expansion character.
+ * @param reignOfTheWarlock true if this is a Reign of the Warlock character.
+ * @param actProgression the act progression, which indicates the title of the character.
+ *
+ * @author Paladijn
+ */
+public record CharacterSummary(FileData fileData, String name, CharacterType characterType, byte level, boolean hardcore, boolean died,
+                               boolean lordOfDestruction, boolean reignOfTheWarlock, byte actProgression) { }
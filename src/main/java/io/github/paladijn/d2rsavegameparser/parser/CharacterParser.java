@@ -19,6 +19,8 @@ package io.github.paladijn.d2rsavegameparser.parser;
 
 import io.github.paladijn.d2rsavegameparser.internal.parser.AttributeParser;
 import io.github.paladijn.d2rsavegameparser.internal.parser.BitReader;
+import io.github.paladijn.d2rsavegameparser.internal.parser.ParseHelper;
+import io.github.paladijn.d2rsavegameparser.model.CharacterSummary;
 import io.github.paladijn.d2rsavegameparser.model.CharacterType;
 import io.github.paladijn.d2rsavegameparser.model.D2Character;
 import io.github.paladijn.d2rsavegameparser.model.Difficulty;
@@ -35,16 +37,20 @@ import io.github.paladijn.d2rsavegameparser.model.Skill;
 import io.github.paladijn.d2rsavegameparser.model.SkillType;
 import io.github.paladijn.d2rsavegameparser.model.StarterAttributes;
 import io.github.paladijn.d2rsavegameparser.model.WaypointStatus;
+import io.github.paladijn.d2rsavegameparser.parser.D2sSectionIndex.Section;
 import io.github.paladijn.d2rsavegameparser.txt.SetData;
 import io.github.paladijn.d2rsavegameparser.txt.TXTProperties;
 import org.slf4j.Logger;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -63,16 +69,32 @@ public final class CharacterParser {
     private static final Logger log = getLogger(CharacterParser.class);
     public static final int QUEST_START_INDEX = 403;
 
-    private final ItemParser itemParser;
+    private final boolean printItemBytes;
+
+    // created on first use, so parses that skip all items don't need the txt files
+    private ItemParser itemParser;
 
     private final AttributeParser attributeParser;
 
+    private final Executor sectionExecutor;
+
     /**
      * Constructor for the {@link CharacterParser}
      * @param printItemBytes helper boolean to log the bytes[] per Item for unit tests and debugging.
      */
     public CharacterParser(boolean printItemBytes) {
-        itemParser = new ItemParser(printItemBytes);
+        this(printItemBytes, null);
+    }
+
+    /**
+     * Constructor for the {@link CharacterParser} which decodes the item lists of the character, mercenary and corpse and the iron
+     * golem item concurrently, to reduce the time to parse a single heavily geared character.
+     * @param printItemBytes helper boolean to log the bytes[] per Item for unit tests and debugging.
+     * @param sectionExecutor the {@link Executor} to decode the item sections on, or null to decode them one after another.
+     */
+    public CharacterParser(boolean printItemBytes, Executor sectionExecutor) {
+        this.printItemBytes = printItemBytes;
+        this.sectionExecutor = sectionExecutor;
         attributeParser = new AttributeParser();
     }
 
@@ -83,29 +105,114 @@ public final class CharacterParser {
      * @throws ParseException in case there was an issue parsing the buffer
      */
     public D2Character parse(final ByteBuffer buffer) {
+        return parse(buffer, ParseOptions.ALL);
+    }
 
-        buffer.order(ByteOrder.LITTLE_ENDIAN);
+    /**
+     * parse a savegame file to a {@link D2Character}. Savegame files are small and read onto the heap, only files of
+     * {@value SaveFiles#MAP_THRESHOLD} bytes or more are memory-mapped. On Windows a mapped file can't be replaced until the
+     * buffer has been garbage collected.
+     * @param path the path of a Diablo II: resurrected savegame file
+     * @return a filled {@link D2Character}
+     * @throws ParseException in case the file could not be read or there was an issue parsing it
+     */
+    public D2Character parse(final Path path) {
+        return parse(path, ParseOptions.ALL);
+    }
 
-        if (buffer.limit() < 335) {
-            throw new ParseException("Less than 335 bytes read (%d), either the file is locked, or this is not a valid .d2s file".formatted(buffer.limit()));
+    /**
+     * parse the selected sections of a savegame file to a {@link D2Character}. Savegame files are small and read onto the heap,
+     * only files of {@value SaveFiles#MAP_THRESHOLD} bytes or more are memory-mapped. On Windows a mapped file can't be
+     * replaced until the buffer has been garbage collected.
+     * @param path the path of a Diablo II: resurrected savegame file
+     * @param options the {@link ParseOptions} selecting the sections to parse
+     * @return a {@link D2Character} filled with the selected sections
+     * @throws ParseException in case the file could not be read or there was an issue parsing it
+     */
+    public D2Character parse(final Path path, final ParseOptions options) {
+        return SaveFiles.parse(path, buffer -> parse(buffer, options));
+    }
+
+    /**
+     * Stream the items of one of the item lists of a savegame file, parsing them one by one as they are requested. Nothing else
+     * in the file is decoded and the items are returned as stored, without resolving the set bonuses.
+     * @param buffer a {@link ByteBuffer} of a Diablo II: resurrected savegame file
+     * @param section the item list to stream, {@link Section#ITEMS}, {@link Section#MERCENARY} or {@link Section#CORPSE}
+     * @return an {@link ItemCursor} at the first item, without any items in case the file doesn't contain the list
+     * @throws ParseException in case this is not a savegame file of a supported version or the sections could not be found
+     */
+    public ItemCursor itemCursor(final ByteBuffer buffer, final Section section) {
+        if (section != Section.ITEMS && section != Section.MERCENARY && section != Section.CORPSE) {
+            throw new IllegalArgumentException("Section %s does not contain an item list".formatted(section));
         }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        D2sSectionIndex.checkFileHeader(buffer);
+        checkVersion(getFileData(buffer));
 
-        final int header = buffer.getInt(0);
-        if (header != 0xaa55aa55) {
-            throw new ParseException("Wrong fileHeader %d, this is not a Diablo II saveGame file".formatted(header));
+        final D2sSectionIndex sections = D2sSectionIndex.of(buffer);
+        if (!sections.isPresent(section)) {
+            return ItemCursor.empty();
         }
+        final int offset = sections.offset(section);
+        return switch (section) {
+            case MERCENARY -> sections.length(section) > 2
+                    ? itemParser().cursor(buffer, offset + 2, sections.end(section))
+                    : ItemCursor.empty();
+            case CORPSE -> buffer.getShort(offset + 2) == 1
+                    ? itemParser().cursor(buffer, offset + 16, sections.end(section))
+                    : ItemCursor.empty();
+            default -> itemParser().cursor(buffer, offset, sections.end(section));
+        };
+    }
+
+    /**
+     * Read only the fixed header fields of a savegame file, such as the name, class and level. This doesn't decode any of the
+     * sections and doesn't need the txt files, so it's suited to list many characters at once.
+     * @param buffer a {@link ByteBuffer} of a Diablo II: resurrected savegame file
+     * @return the {@link CharacterSummary} of the character
+     * @throws ParseException in case this is not a savegame file of a supported version
+     */
+    public static CharacterSummary probe(final ByteBuffer buffer) {
+        final ByteBuffer header = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        D2sSectionIndex.checkFileHeader(header);
+        final FileData fileData = getFileData(header);
+        checkVersion(fileData);
+
+        final byte statusBits = header.get(20);
+        return new CharacterSummary(fileData,
+                readName(header),
+                readCharacterType(header),
+                header.get(27),
+                (0xff & statusBits & 1 << 2) != 0,
+                (0xff & statusBits & 1 << 3) != 0,
+                (0xff & statusBits & 1 << 5) != 0,
+                header.get(248) == 3,
+                header.get(21));
+    }
+
+    /**
+     * parse the selected sections of the {@link ByteBuffer} of a savegame file to a {@link D2Character}. Sections that aren't
+     * selected are skipped and left empty, for example to only read the name, class, level and experience of many characters.
+     * @param buffer a {@link ByteBuffer} of a Diablo II: resurrected savegame file
+     * @param options the {@link ParseOptions} selecting the sections to parse
+     * @return a {@link D2Character} filled with the selected sections
+     * @throws ParseException in case there was an issue parsing the buffer
+     */
+    public D2Character parse(final ByteBuffer buffer, final ParseOptions options) {
+
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        D2sSectionIndex.checkFileHeader(buffer);
         final FileData fileData = getFileData(buffer);
 
         D2Character.D2CharacterBuilder characterBuilder = new D2Character.D2CharacterBuilder().fileData(fileData);
 
-        if (fileData.version() != 105) {
-            throw new ParseException("Unsupported version: " + fileData.version());
-        }
+        checkVersion(fileData);
         characterBuilder
                 .parseCharacterStatus(buffer.get(20))
                 .actProgression(buffer.get(21));
 
-        final CharacterType characterType = CharacterType.values()[buffer.get(24)];
+        final CharacterType characterType = readCharacterType(buffer);
 
         characterBuilder.characterType(characterType)
                 .level(buffer.get(27))
@@ -126,150 +233,140 @@ public final class CharacterParser {
 
         characterBuilder.reignOfTheWarlock(buffer.get(248));
 
-        byte[] nameBytes = new byte[16];
-        buffer.get(299, nameBytes, 0, 16);
-        characterBuilder.name(new String(nameBytes).trim());
+        characterBuilder.name(readName(buffer));
 
-        if (buffer.limit() == 403) {
+        final D2sSectionIndex sections = D2sSectionIndex.of(buffer, options.anyItems());
+        log.debug("sections: {}", sections);
+        if (!sections.isPresent(Section.QUESTS)) {
             log.info("This is a newly created character, so we'll only supply the starter attributes until the game triggers another save.");
             characterBuilder.attributes(StarterAttributes.getStarterAttributesByClass(characterType));
             return characterBuilder.build();
         }
 
-        characterBuilder
-                .questDataPerDifficulty(parseQuestData(buffer))
-                .waypoints(parseWaypoints(buffer));
-
-        byte[] npcHeaderBytes = new byte[2];
-        buffer.get(782, npcHeaderBytes, 0, 2);
-        String npcHeader = new String(npcHeaderBytes); // "w4"
-        if (!"w4".equals(npcHeader)) {
-            throw new ParseException("Could not find NPC header");
+        if (options.quests()) {
+            characterBuilder.questDataPerDifficulty(parseQuestData(buffer));
+        }
+        if (options.waypoints()) {
+            characterBuilder.waypoints(parseWaypoints(buffer));
         }
 
-        // stats
-        byte[] statHeaderBytes = new byte[2];
-        buffer.get(833, statHeaderBytes, 0, 2);
-        String statHeader = new String(statHeaderBytes); // "gf" until "if"
-        if (!"gf".equals(statHeader)) {
-            throw new ParseException("Could not find stat header");
+        if (options.attributes()) {
+            // stats, skipping the "gf" header
+            final BitReader statData = new BitReader(buffer, sections.offset(Section.STATS) + 2, sections.length(Section.STATS) - 2);
+            characterBuilder.attributes(attributeParser.parse(statData));
         }
 
-        // stat length is at least xx bytes and at most yy bytes, followed by if header for the skills. We're assuming max 60 which so far seems to work (it should be < 36, but we've encountered one crash on >= 40 so far)
-        byte[] skillHeaderBytes = new byte[2];
-        int skillIndex = -1;
-        for(int i = 870; i < 933; i++) {
-            buffer.get(i, skillHeaderBytes, 0, 2);
-            if("if".equals(new String(skillHeaderBytes))) {
-                skillIndex = i;
-                break;
-            }
+        List<Skill> skills = List.of();
+        if (options.skills()) {
+            skills = parseSkills(characterType, buffer, sections.offset(Section.SKILLS) + 2);
+            characterBuilder.skills(skills);
         }
-        if (skillIndex == -1) {
-            throw new ParseException("Could not find skill header 'if' below index 860");
+
+        // the item sections are independent of each other, with an executor they are decoded concurrently and merged below
+        final ItemParser sectionParser = options.anyItems() ? itemParser() : null;
+        CompletableFuture<List<Item>> itemsSection = null;
+        if (options.items()) {
+            log.debug("parsing character items");
+            itemsSection = SectionDecoding.decode(sectionExecutor, () -> sectionParser.parseItems(buffer, sections.offset(Section.ITEMS), sections.end(Section.ITEMS)));
         }
 
-        final int statLength = skillIndex - 835;
-        byte[] statBytes = new byte[statLength];
-        buffer.get(835, statBytes, 0, statLength);
-        characterBuilder.attributes(attributeParser.parse(statBytes));
-
-        byte[] skillBytes = new byte[30];
-        buffer.get(skillIndex + 2, skillBytes, 0, 30);
-        final List<Skill> skills = parseSkills(characterType, skillBytes);
-
-        // (available) skills are 30 bytes after the skillindex plus the 2 header bytes
-        int itemIndex = skillIndex + 32;
-        log.debug("parsing character items");
-        // There should be a dead body indicator here JM + short value = 0, you're alive. short value = 1, then we have the items of your dead body here.
-        // Skip 16 bytes -> JM items on body. So we'll look for the next JM, if it's nearby with count 0 => we're alive.
-        int deadBodyIndex = findNextJM(buffer, itemIndex + 2);
-        log.debug("dead body at index {}, items start at {}", deadBodyIndex, itemIndex);
-
-        final List<Item> items = itemParser.parseItems(buffer, itemIndex, buffer.limit());
-
-        // adjusting sets
-        final HashMap<String, Integer> setCounts = getEquippedSetCounts(getEquippedSetItems(items));
-        final List<Item> adjustedItems = removeSetBonuses(items, setCounts);
-        final List<ItemProperty> activeSetBenefits = getActiveSetBenefits(setCounts);
-        characterBuilder
-                .items(adjustedItems)
-                .equippedSetBenefits(activeSetBenefits);
-
-        // adjusting passive skill benefits
-        characterBuilder.skills(adjustSkillsForPassives(skills, getEquippedItems(adjustedItems), activeSetBenefits));
-
-        if(characterBuilder.isLordOfDestruction() || characterBuilder.isReignOfTheWarlock()) {
-            // the Classic characters don't have merc items, and don't store the iron golem item in the savegame file (it even disappears when switching acts!)
-
-            // for iron lem and merc we'll search backwards as that is faster.
-            // iron golem starts with kf and in case the following byte is 1 the item will follow without a JM prefix
-            byte[] ironLemHeaderBytes = new byte[2];
-            int ironIndex = -1;
-            for (int i = buffer.limit() - 3; i > deadBodyIndex; i--) {
-                buffer.get(i, ironLemHeaderBytes, 0, 2);
-                if("kf".equals(new String(ironLemHeaderBytes))) {
-                    ironIndex = i;
-                    break;
-                }
+        CompletableFuture<List<Item>> mercenarySection = null;
+        if (options.mercenaryItems() && sections.isPresent(Section.MERCENARY) && sections.length(Section.MERCENARY) > 2) {
+            final int mercItemIndex = sections.offset(Section.MERCENARY) + 2;
+            log.debug("parsing mercenary at index {}", mercItemIndex);
+            mercenarySection = SectionDecoding.decode(sectionExecutor, () -> sectionParser.parseItems(buffer, mercItemIndex, sections.end(Section.MERCENARY)));
+        } else {
+            log.debug("No mercenary found");
+        }
+
+        // parse the iron golem item, in case the byte after kf is 1 the item will follow without a JM prefix
+        CompletableFuture<Item> golemSection = null;
+        if (options.golemItem() && sections.isPresent(Section.IRON_GOLEM)) {
+            final int ironIndex = sections.offset(Section.IRON_GOLEM);
+            if (buffer.get(ironIndex + 2) == 1) {
+                golemSection = SectionDecoding.decode(sectionExecutor, () -> sectionParser.parseItem(new BitReader(buffer, ironIndex + 3, sections.length(Section.IRON_GOLEM) - 3)));
             }
-            if (ironIndex == -1) {
-                throw new ParseException("Could not find iron golem header 'kf'");
+        }
+
+        // There is a dead body indicator at the corpse JM + short value = 0, you're alive. short value = 1, then the items of your dead body follow after 16 bytes.
+        CompletableFuture<List<Item>> corpseSection = null;
+        if (options.corpseItems()) {
+            final int deadBodyIndex = sections.offset(Section.CORPSE);
+            final short deadIndicator = buffer.getShort(deadBodyIndex + 2);
+            if (deadIndicator == 1) {
+                log.debug("dead body items found at index {}", deadBodyIndex);
+                corpseSection = SectionDecoding.decode(sectionExecutor, () -> sectionParser.parseItems(buffer, deadBodyIndex + 16, sections.end(Section.CORPSE)));
+            } else {
+                log.debug("No dead body items found");
             }
+        }
 
-            // merc items are at "jf"
-            byte[] mercItemHeaderBytes = new byte[2];
-            int mercItemIndex = -1;
-            for (int i = ironIndex; i > deadBodyIndex; i--) {
-                buffer.get(i, mercItemHeaderBytes, 0, 2);
-                if("jf".equals(new String(mercItemHeaderBytes))) {
-                    mercItemIndex = i + 2;
-                    break;
-                }
+        SectionDecoding.awaitAll(itemsSection, mercenarySection, golemSection, corpseSection);
+        if (itemsSection != null) {
+            final List<Item> items = ParseHelper.join(itemsSection);
+            characterBuilder.items(items);
+
+            if (options.bonuses()) {
+                // adjusting sets
+                final HashMap<String, Integer> setCounts = getEquippedSetCounts(getEquippedSetItems(items));
+                final List<Item> adjustedItems = removeSetBonuses(items, setCounts);
+                final List<ItemProperty> activeSetBenefits = getActiveSetBenefits(setCounts);
+                characterBuilder
+                        .items(adjustedItems)
+                        .equippedSetBenefits(activeSetBenefits);
+
+                // adjusting passive skill benefits
+                characterBuilder.skills(adjustSkillsForPassives(skills, getEquippedItems(adjustedItems), activeSetBenefits));
             }
+        }
 
-            if (ironIndex > mercItemIndex) {
-                log.debug("parsing mercenary at index {}", mercItemIndex);
-                final List<Item> mercItems = itemParser.parseItems(buffer, mercItemIndex, ironIndex);
+        if (mercenarySection != null) {
+            final List<Item> mercItems = ParseHelper.join(mercenarySection);
+            if (options.bonuses()) {
                 final HashMap<String, Integer> mercSetCounts = getEquippedSetCounts(getEquippedSetItems(mercItems));
-                final List<Item> mercAdjustedItems = removeSetBonuses(mercItems, mercSetCounts);
-                mercenaryBuilder.items(mercAdjustedItems);
-                characterBuilder.mercenary(mercenaryBuilder.build());
+                mercenaryBuilder.items(removeSetBonuses(mercItems, mercSetCounts));
             } else {
-                log.debug("No mercenary found");
+                mercenaryBuilder.items(mercItems);
             }
+            characterBuilder.mercenary(mercenaryBuilder.build());
+        }
 
-            // parse the iron golem item
-            if (buffer.get(ironIndex + 2) == 1) {
-                final int ironItemLength = buffer.limit() - ironIndex - 3;
-                byte[] ironBytes = new byte[ironItemLength];
-                buffer.get(ironIndex + 3, ironBytes, 0, ironItemLength);
-                BitReader igBR = new BitReader(ironBytes);
-                characterBuilder.golemItem(itemParser.parseItem(igBR));
-            }
+        if (golemSection != null) {
+            characterBuilder.golemItem(ParseHelper.join(golemSection));
         }
 
-        final short deadIndicator = buffer.getShort(deadBodyIndex + 2);
-        if (deadIndicator == 1) {
-            log.debug("dead body items found at index {}", deadBodyIndex);
-            characterBuilder.deadBodyItems(itemParser.parseItems(buffer, deadBodyIndex + 16, buffer.limit()));
-        } else {
-            log.debug("No dead body items found");
+        if (corpseSection != null) {
+            characterBuilder.deadBodyItems(ParseHelper.join(corpseSection));
         }
 
         return characterBuilder.build();
     }
 
-    private int findNextJM(ByteBuffer buffer, int start) {
-        // skip 16 bytes, look for the next one:
-        byte[] nextJM = new byte[2];
-        for (int i = start; i < buffer.limit(); i++) {
-            buffer.get(i, nextJM, 0, 2);
-            if ("JM".equals(new String(nextJM))) {
-                return i;
-            }
+    private ItemParser itemParser() {
+        if (itemParser == null) {
+            itemParser = new ItemParser(printItemBytes);
+        }
+        return itemParser;
+    }
+
+    private static void checkVersion(final FileData fileData) {
+        if (fileData.version() != 105) {
+            throw new ParseException("Unsupported version: " + fileData.version());
         }
-        return -1;
+    }
+
+    private static CharacterType readCharacterType(final ByteBuffer buffer) {
+        final byte characterClass = buffer.get(24);
+        if (characterClass < 0 || characterClass >= CharacterType.values().length) {
+            throw new ParseException("Unknown character class " + characterClass);
+        }
+        return CharacterType.values()[characterClass];
+    }
+
+    private static String readName(final ByteBuffer buffer) {
+        byte[] nameBytes = new byte[16];
+        buffer.get(299, nameBytes, 0, 16);
+        return new String(nameBytes).trim();
     }
 
     private static FileData getFileData(ByteBuffer buffer) {
@@ -279,11 +376,11 @@ public final class CharacterParser {
                 buffer.getInt(48) * 1000L);  // timestamp seconds since Jan 1st, 1970 so * 1000L to get the proper unix value
     }
 
-    private List<Skill> parseSkills(final CharacterType characterType, final byte[] skillBytes) {
+    private List<Skill> parseSkills(final CharacterType characterType, final ByteBuffer buffer, final int skillIndex) {
         List<Skill> skills = new ArrayList<>();
         int index = 0;
         for(SkillType skillType: SkillType.getSkillListForCharacter(characterType)) {
-            byte level = skillBytes[index];
+            byte level = buffer.get(skillIndex + index);
             index++;
 
             skills.add(new Skill(skillType, level, List.of()));
@@ -351,18 +448,10 @@ public final class CharacterParser {
 
     private List<WaypointStatus> parseWaypoints(ByteBuffer buffer) {
         List<WaypointStatus> result = new ArrayList<>();
-        byte[] wsHeaderBytes = new byte[2];
-        buffer.get(701, wsHeaderBytes, 0, 2);
-        String wsHeader = new String(wsHeaderBytes); // "WS"
-        if (!"WS".equals(wsHeader)) {
-            throw new ParseException("Could not find Waypoints header");
-        }
         // skip 6 unknown bytes to end up at 641 for normal. We read 24 bytes here per difficulty, even though the last 17 are (currently) not used.
         for (Difficulty difficulty : Difficulty.values()) {
-            byte[] waypointBytes = new byte[24];
             int startIndex = 709 + difficulty.ordinal() * 24;
-            buffer.get(startIndex, waypointBytes, 0, 24);
-            BitReader brWaypoints = new BitReader(waypointBytes);
+            BitReader brWaypoints = new BitReader(buffer, startIndex, 24);
             brWaypoints.skip(16); // ignore the first two
 
             WaypointStatus.WaypointStatusBuilder waypointBuilder = new WaypointStatus.WaypointStatusBuilder()
@@ -424,13 +513,6 @@ public final class CharacterParser {
 
     private List<QuestData> parseQuestData(ByteBuffer buffer) {
         List<QuestData> result = new ArrayList<>();
-        byte[] questHeaderBytes = new byte[4];
-        buffer.get(QUEST_START_INDEX, questHeaderBytes, 0, 4);
-        String questHeader = new String(questHeaderBytes);
-        if (!"Woo!".equals(questHeader)) {
-            throw new ParseException("Could not find quest header");
-        }
-
         for (Difficulty difficulty : Difficulty.values()) {
             // for now, we are only interested in Anya's scroll and Larzuk's socket quest reward still available
             QuestData.QuestDataBuilder questDataBuilder = new QuestData.QuestDataBuilder(difficulty);
@@ -0,0 +1,268 @@
+/*
+ * Copyright (C) 2026   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.parser;
+
+import io.github.paladijn.d2rsavegameparser.internal.parser.MarkerScanner;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Offsets and lengths of the sections of a .d2s savegame file: the fixed sections are checked in place, the skills and corpse item
+ * list are found scanning forward and the iron golem and mercenary item list scanning backward from the end of the file. Each scan
+ * stops at the first marker that is confirmed by the bytes around it, "JM" inside the item data is skipped. The {@link CharacterParser} decodes from this index, and tools that only need one
+ * section can use {@link #slice(ByteBuffer, Section)} without parsing the rest of the file.
+ *
+ * @author Paladijn
+ */
+public final class D2sSectionIndex {
+    private static final int MINIMUM_FILE_SIZE = 335;
+    private static final int FILE_HEADER = 0xaa55aa55;
+    private static final int QUESTS_START = CharacterParser.QUEST_START_INDEX;
+    private static final int WAYPOINTS_START = 701;
+    private static final int NPC_START = 782;
+    private static final int STATS_START = 833;
+    // stat length is at least xx bytes and at most yy bytes, followed by if header for the skills. It should be < 36, but we've encountered one crash on >= 40 so far
+    private static final int SKILLS_SEARCH_START = 870;
+    private static final int SKILLS_SEARCH_END = 933;
+    // the "if" header plus one byte per skill
+    private static final int SKILLS_LENGTH = 32;
+
+    /**
+     * The sections of a .d2s file in the order they appear.
+     */
+    public enum Section {
+        /** Fixed character data such as the name, class, level, hotkeys and mercenary details. */
+        HEADER,
+        /** Quest progress per difficulty, starting with "Woo!". */
+        QUESTS,
+        /** Waypoints per difficulty, starting with "WS". */
+        WAYPOINTS,
+        /** NPC introductions, starting with "w4". */
+        NPC,
+        /** The bit-packed character attributes, starting with "gf". */
+        STATS,
+        /** The skill levels, starting with "if". */
+        SKILLS,
+        /** The item list of the character, starting with "JM". */
+        ITEMS,
+        /** The item list of the corpse, starting with "JM". */
+        CORPSE,
+        /** The item list of the mercenary, starting with "jf". Only available for expansion characters. */
+        MERCENARY,
+        /** The iron golem item, starting with "kf". Only available for expansion characters. */
+        IRON_GOLEM
+    }
+
+    private final int[] offsets = new int[Section.values().length];
+    private final int[] lengths = new int[Section.values().length];
+
+    private D2sSectionIndex() {
+        Arrays.fill(offsets, -1);
+    }
+
+    /**
+     * Index the sections of a savegame file.
+     * @param buffer a {@link ByteBuffer} of a Diablo II: resurrected savegame file
+     * @return the index of all sections present in the file
+     * @throws ParseException in case this is not a savegame file or one of the section headers is missing
+     */
+    public static D2sSectionIndex of(final ByteBuffer buffer) {
+        return of(buffer, true);
+    }
+
+    /**
+     * Index the sections of a savegame file, optionally stopping after the skills.
+     * @param buffer a {@link ByteBuffer} of a Diablo II: resurrected savegame file
+     * @param itemSections false to skip the scans for the item sections, which are then not present in the index
+     * @return the index of the sections
+     */
+    static D2sSectionIndex of(final ByteBuffer buffer, final boolean itemSections) {
+        checkFileHeader(buffer);
+
+        final D2sSectionIndex index = new D2sSectionIndex();
+        final int end = buffer.limit();
+        if (end <= QUESTS_START) {
+            // a newly created character, which only has the header until the game saves it again
+            index.put(Section.HEADER, 0, end);
+            return index;
+        }
+        index.put(Section.HEADER, 0, QUESTS_START);
+
+        if (!MarkerScanner.matches(buffer, QUESTS_START, MarkerScanner.QUEST_WO)
+                || !MarkerScanner.matches(buffer, QUESTS_START + 2, MarkerScanner.QUEST_O)) {
+            throw new ParseException("Could not find quest header");
+        }
+        index.put(Section.QUESTS, QUESTS_START, WAYPOINTS_START);
+        if (!MarkerScanner.matches(buffer, WAYPOINTS_START, MarkerScanner.WAYPOINTS)) {
+            throw new ParseException("Could not find Waypoints header");
+        }
+        index.put(Section.WAYPOINTS, WAYPOINTS_START, NPC_START);
+        if (!MarkerScanner.matches(buffer, NPC_START, MarkerScanner.NPC)) {
+            throw new ParseException("Could not find NPC header");
+        }
+        index.put(Section.NPC, NPC_START, STATS_START);
+        if (!MarkerScanner.matches(buffer, STATS_START, MarkerScanner.STATS)) {
+            throw new ParseException("Could not find stat header");
+        }
+
+        final int skillsStart = MarkerScanner.indexOf(buffer, MarkerScanner.SKILLS, SKILLS_SEARCH_START, SKILLS_SEARCH_END);
+        if (skillsStart == -1) {
+            throw new ParseException("Could not find skill header 'if' below index 860");
+        }
+        index.put(Section.STATS, STATS_START, skillsStart);
+        final int itemsStart = skillsStart + SKILLS_LENGTH;
+        index.put(Section.SKILLS, skillsStart, itemsStart);
+        if (!itemSections) {
+            return index;
+        }
+
+        final int corpseStart = findCorpse(buffer, itemsStart + 2, end);
+        if (corpseStart == -1) {
+            throw new ParseException("Could not find the corpse item list header 'JM'");
+        }
+        index.put(Section.ITEMS, itemsStart, corpseStart);
+
+        int corpseEnd = end;
+        if (isExpansion(buffer)) {
+            // classic characters don't have merc items, and don't store the iron golem item in the savegame file (it even disappears when switching acts!)
+            final int ironGolemStart = MarkerScanner.lastIndexOf(buffer, MarkerScanner.IRON_GOLEM, end - 3, corpseStart);
+            if (ironGolemStart == -1) {
+                throw new ParseException("Could not find iron golem header 'kf'");
+            }
+            index.put(Section.IRON_GOLEM, ironGolemStart, end);
+            corpseEnd = ironGolemStart;
+
+            final int mercenaryStart = MarkerScanner.lastIndexOf(buffer, MarkerScanner.MERCENARY, ironGolemStart - 1, corpseStart);
+            if (mercenaryStart != -1) {
+                index.put(Section.MERCENARY, mercenaryStart, ironGolemStart);
+                corpseEnd = mercenaryStart;
+            }
+        }
+        index.put(Section.CORPSE, corpseStart, corpseEnd);
+        return index;
+    }
+
+    /**
+     * Items no longer start with JM in this version, so the next JM after the item list header should be the one of the corpse. The
+     * bit-packed item data can contain "JM" as well, so a candidate is only accepted when it's followed by a corpse count of 1 with
+     * the JM of the corpse item list 16 bytes in, or by a count of 0 directly followed by the mercenary "jf" or iron golem "kf"
+     * header, or the end of the file for classic characters.
+     */
+    private static int findCorpse(final ByteBuffer buffer, final int from, final int end) {
+        for (int candidate = MarkerScanner.indexOf(buffer, MarkerScanner.JM, from, end); candidate != -1;
+             candidate = MarkerScanner.indexOf(buffer, MarkerScanner.JM, candidate + 1, end)) {
+            if (candidate + 3 >= end) {
+                return -1;
+            }
+            final int corpses = (buffer.get(candidate + 2) & 0xFF) | (buffer.get(candidate + 3) & 0xFF) << 8;
+            if (corpses == 0 && isCorpseEnd(buffer, candidate + 4, end)
+                    || corpses == 1 && MarkerScanner.matches(buffer, candidate + 16, MarkerScanner.JM)) {
+                return candidate;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isCorpseEnd(final ByteBuffer buffer, final int index, final int end) {
+        return index == end
+                || index + 1 < end && (MarkerScanner.matches(buffer, index, MarkerScanner.MERCENARY)
+                        || MarkerScanner.matches(buffer, index, MarkerScanner.IRON_GOLEM));
+    }
+
+    static void checkFileHeader(final ByteBuffer buffer) {
+        if (buffer.limit() < MINIMUM_FILE_SIZE) {
+            throw new ParseException("Less than 335 bytes read (%d), either the file is locked, or this is not a valid .d2s file".formatted(buffer.limit()));
+        }
+        final int header = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN).getInt(0);
+        if (header != FILE_HEADER) {
+            throw new ParseException("Wrong fileHeader %d, this is not a Diablo II saveGame file".formatted(header));
+        }
+    }
+
+    private static boolean isExpansion(final ByteBuffer buffer) {
+        final boolean lordOfDestruction = (buffer.get(20) & 1 << 5) != 0;
+        final boolean reignOfTheWarlock = buffer.get(248) == 3;
+        return lordOfDestruction || reignOfTheWarlock;
+    }
+
+    private void put(final Section section, final int start, final int end) {
+        offsets[section.ordinal()] = start;
+        lengths[section.ordinal()] = end - start;
+    }
+
+    /**
+     * Check whether the section is available in the file. Newly created characters only have a header, classic characters don't
+     * have a mercenary item list or iron golem.
+     * @param section the {@link Section}
+     * @return true if the section is available, false if not
+     */
+    public boolean isPresent(final Section section) {
+        return offsets[section.ordinal()] != -1;
+    }
+
+    /**
+     * @param section the {@link Section}
+     * @return the index of the first byte of the section, including its header, or -1 if the section isn't present
+     */
+    public int offset(final Section section) {
+        return offsets[section.ordinal()];
+    }
+
+    /**
+     * @param section the {@link Section}
+     * @return the length of the section in bytes, including its header, or 0 if the section isn't present
+     */
+    public int length(final Section section) {
+        return lengths[section.ordinal()];
+    }
+
+    /**
+     * @param section the {@link Section}
+     * @return the index right after the last byte of the section, or -1 if the section isn't present
+     */
+    public int end(final Section section) {
+        return isPresent(section) ? offset(section) + length(section) : -1;
+    }
+
+    /**
+     * Slice a section out of the savegame data without copying it.
+     * @param buffer the {@link ByteBuffer} this index was created from
+     * @param section the {@link Section}
+     * @return a little-endian {@link ByteBuffer} of just the section, including its header
+     * @throws ParseException in case the section isn't present in this file
+     */
+    public ByteBuffer slice(final ByteBuffer buffer, final Section section) {
+        if (!isPresent(section)) {
+            throw new ParseException("Section %s is not present in this file".formatted(section));
+        }
+        return buffer.slice(offset(section), length(section)).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("D2sSectionIndex{");
+        for (Section section : Section.values()) {
+            if (isPresent(section)) {
+                sb.append(section).append('=').append(offset(section)).append('+').append(length(section)).append(' ');
+            }
+        }
+        return sb.append('}').toString();
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2026   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.parser;
+
+import io.github.paladijn.d2rsavegameparser.internal.parser.BitReader;
+import io.github.paladijn.d2rsavegameparser.model.Item;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Streams the {@link Item}s of an item list in a savegame file, parsing each item only when it's requested. A search can stop as
+ * soon as it finds what it's looking for, without parsing or holding on to the remaining items, for example
+ * {@code cursor.stream().filter(item -> item.quality() == ItemQuality.UNIQUE).findFirst()}.
+ * <p>
+ * Cursors are created by {@link CharacterParser#itemCursor(java.nio.ByteBuffer, D2sSectionIndex.Section)} and
+ * {@link SharedStashView#itemCursor(int)}. A cursor can be used only once and only by one thread at a time.
+ * </p>
+ *
+ * @author Paladijn
+ */
+public final class ItemCursor implements Spliterator<Item> {
+    private final ItemParser itemParser;
+    private final BitReader itemData;
+    private int remaining;
+
+    ItemCursor(final ItemParser itemParser, final BitReader itemData, final int cntItems) {
+        this.itemParser = itemParser;
+        this.itemData = itemData;
+        this.remaining = cntItems;
+    }
+
+    /**
+     * @return a cursor without any items, for example for the corpse of a character that is alive
+     */
+    static ItemCursor empty() {
+        return new ItemCursor(null, null, 0);
+    }
+
+    /**
+     * Parse the next item.
+     * @param action the consumer of the item
+     * @return false if there are no more items, true if an item was passed to the action
+     * @throws ParseException in case there was an issue parsing the item
+     */
+    @Override
+    public boolean tryAdvance(final Consumer<? super Item> action) {
+        if (remaining <= 0) {
+            return false;
+        }
+        remaining--;
+        action.accept(itemParser.parseItem(itemData));
+        return true;
+    }
+
+    /**
+     * The items are stored one after another with a variable length, so a cursor can't be split.
+     * @return null
+     */
+    @Override
+    public Spliterator<Item> trySplit() {
+        return null;
+    }
+
+    /**
+     * @return the number of items that haven't been parsed yet, not counting the items socketed into them
+     */
+    @Override
+    public long estimateSize() {
+        return Math.max(remaining, 0);
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL | SIZED | IMMUTABLE;
+    }
+
+    /**
+     * @return a sequential {@link Stream} of the remaining items
+     */
+    public Stream<Item> stream() {
+        return StreamSupport.stream(this, false);
+    }
+}
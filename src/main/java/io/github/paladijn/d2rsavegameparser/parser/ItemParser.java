@@ -19,6 +19,8 @@ package io.github.paladijn.d2rsavegameparser.parser;
 
 import io.github.paladijn.d2rsavegameparser.internal.parser.BitReader;
 import io.github.paladijn.d2rsavegameparser.internal.parser.ItemScaffolding;
+import io.github.paladijn.d2rsavegameparser.internal.parser.ItemStatDecoder;
+import io.github.paladijn.d2rsavegameparser.internal.parser.MarkerScanner;
 import io.github.paladijn.d2rsavegameparser.internal.parser.ParseHelper;
 import io.github.paladijn.d2rsavegameparser.model.CharacterType;
 import io.github.paladijn.d2rsavegameparser.model.Difficulty;
@@ -30,9 +32,11 @@ import io.github.paladijn.d2rsavegameparser.model.ItemProperty;
 import io.github.paladijn.d2rsavegameparser.model.ItemQuality;
 import io.github.paladijn.d2rsavegameparser.model.ItemType;
 import io.github.paladijn.d2rsavegameparser.txt.ArmorStats;
+import io.github.paladijn.d2rsavegameparser.txt.BaseItem;
 import io.github.paladijn.d2rsavegameparser.txt.ItemStatCost;
 import io.github.paladijn.d2rsavegameparser.txt.MagicAffix;
 import io.github.paladijn.d2rsavegameparser.txt.MiscStats;
+import io.github.paladijn.d2rsavegameparser.txt.Runeword;
 import io.github.paladijn.d2rsavegameparser.txt.SetItem;
 import io.github.paladijn.d2rsavegameparser.txt.TXTProperties;
 import io.github.paladijn.d2rsavegameparser.txt.UniqueItem;
@@ -57,10 +61,16 @@ import static org.slf4j.LoggerFactory.getLogger;
 final class ItemParser {
     private static final Logger log = getLogger(ItemParser.class);
 
+    private static final int CODE_POTION_OF_LIFE = ParseHelper.packItemCode("xyz");
+    private static final int CODE_VIPER_AMULET = ParseHelper.packItemCode("vip");
+    private static final int CODE_MALAHS_POTION = ParseHelper.packItemCode("ice");
+
     private final boolean printItemBytes;
 
     private final TXTProperties txtProperties = TXTProperties.getInstance();
 
+    private final ItemStatDecoder itemStatDecoder = ItemStatDecoder.of(txtProperties);
+
     /**
      * Constructor for the {@link ItemParser}
      * @param printItemBytes helper boolean to log the bytes[] per Item for unit tests and debugging.
@@ -81,30 +91,39 @@ final class ItemParser {
      */
     List<Item> parseItems(ByteBuffer buffer, int start, int end) {
         final List<Item> result = new ArrayList<>();
-        int cntItemBytes = end - start - 4;
-        byte[] itemBytes = new byte[cntItemBytes];
-        buffer.get(start + 4, itemBytes, 0, cntItemBytes);
-
-        byte[] itemHeaderBytes = new byte[2];
-        buffer.get(start, itemHeaderBytes, 0, 2);
-        String itemHeader = new String(itemHeaderBytes);
-        if (!itemHeader.equals("JM")) {
-            throw new ParseException("Problem parsing item header (should be JM): " + itemHeader);
-        }
+        cursor(buffer, start, end).forEachRemaining(result::add);
+        return result;
+    }
 
-        int cntItems = buffer.getShort(start + 2);
+    /**
+     * Create an {@link ItemCursor} over a list of {@link Item}s in the {@link ByteBuffer}, which parses the items one by one as they are requested.
+     * The method will throw a {@link ParseException} in case the buffer doesn't start with "JM".
+     *
+     * @param buffer a {@link ByteBuffer} of a savegame file starting at the character, mercenary or dead body itemlist or a shared stash tab
+     * @param start start index in the buffer
+     * @param end last index of the buffer to parse
+     * @return an {@link ItemCursor} positioned at the first item
+     */
+    ItemCursor cursor(ByteBuffer buffer, int start, int end) {
+        int cntItems = itemCount(buffer, start);
         log.debug("Total items: {}", cntItems);
 
-        //try {
-            final BitReader itemData = new BitReader(itemBytes);
-            for (int i = 0; i < cntItems; i++) {
-                result.add(parseItem(itemData));
-            }
-//        } catch (ParseException e) {
-//            log.error(e.getMessage());
-//        }
+        return new ItemCursor(this, new BitReader(buffer, start + 4, end - start - 4), cntItems);
+    }
 
-        return result;
+    /**
+     * Read the number of items from the "JM" header of an item list, not counting the items socketed into them.
+     *
+     * @param buffer a {@link ByteBuffer} of a savegame file
+     * @param start index of the "JM" header in the buffer
+     * @return the number of items in the list
+     * @throws ParseException in case the buffer doesn't contain "JM" at the start index
+     */
+    static int itemCount(ByteBuffer buffer, int start) {
+        if (!MarkerScanner.matches(buffer, start, MarkerScanner.JM)) {
+            throw new ParseException("Problem parsing item header (should be JM) at index " + start);
+        }
+        return Short.toUnsignedInt(buffer.getShort(start + 2));
     }
 
     /**
@@ -151,16 +170,19 @@ final class ItemParser {
             return itemBuilder.build();
         }
 
-        final String code = br.readHuffmanEncodedString();
-
-        ArmorStats armorStats = txtProperties.getArmorStatsByCode(code);
-        WeaponStats weaponStats = txtProperties.getWeaponStatsByCode(code);
-        MiscStats miscStats = txtProperties.getMiscItemsByCode(code);
+        final int packedCode = br.readHuffmanEncodedCode();
+        final BaseItem baseItem = txtProperties.getBaseItemByCode(packedCode);
+        if (baseItem == null) {
+            throw new ParseException("Unknown item code '%s', issue parsing 'item'".formatted(ParseHelper.unpackItemCode(packedCode)));
+        }
 
+        final String code = baseItem.code();
+        final MiscStats miscStats = baseItem.miscStats();
+        final ItemType itemType = baseItem.itemType();
         log.debug("code: {}", code);
-        ItemType itemType = determineItemType(armorStats, weaponStats, miscStats);
 
-        final ItemScaffolding itemScaffolding = getBasicItemStats(code, itemType, armorStats, weaponStats, miscStats, isPersonalized, isRuneword, isSocketed, isEthereal, hasChronicleData);
+        final ItemScaffolding itemScaffolding = getBasicItemStats(code, packedCode, itemType, baseItem.armorStats(), baseItem.weaponStats(), miscStats,
+                isPersonalized, isRuneword, isSocketed, isEthereal, hasChronicleData);
 
         itemBuilder
                 .code(code)
@@ -182,7 +204,7 @@ final class ItemParser {
         }
 
         if (itemScaffolding.hasQuestDifficulty()) {
-            if ("vip".equals(code) || "ice".equals(code)) { // these are exceptions for specific the viper amulet and Malah's potion. If this only occurs on normal we'll need to adjust this code.
+            if (packedCode == CODE_VIPER_AMULET || packedCode == CODE_MALAHS_POTION) { // these are exceptions for specific the viper amulet and Malah's potion. If this only occurs on normal we'll need to adjust this code.
                 br.revert(2);
             }
             byte questDifficulty = br.readByte(3);
@@ -193,7 +215,7 @@ final class ItemParser {
         }
 
         if (!isSimple) {
-            parseExtendedPart2(itemBuilder, itemScaffolding, br);
+            parseExtendedPart2(itemBuilder, itemScaffolding, br, baseItem);
         }
 
         if (Item.isGem(itemScaffolding.getType(), itemScaffolding.getType2()) || Item.isRune(itemScaffolding.getType())) {
@@ -232,7 +254,7 @@ final class ItemParser {
                 log.debug("This is a simple item with a 00 byte at the end, skipping 8 bits");
                 br.skip(8); // skip an entire byte, the next boundary should move to the next byte to read.
             }
-        } else if ("xyz".equals(itemScaffolding.getCode())) {
+        } else if (packedCode == CODE_POTION_OF_LIFE) {
             log.debug("skipping two bytes (FF 01) on Potion of Life");
             br.skip(16);
         }
@@ -373,17 +395,16 @@ final class ItemParser {
         }
     }
 
-    private void parseExtendedPart2(Item.ItemBuilder itemBuilder, ItemScaffolding itemScaffolding, BitReader br) {
+    private void parseExtendedPart2(Item.ItemBuilder itemBuilder, ItemScaffolding itemScaffolding, BitReader br, BaseItem baseItem) {
         log.debug("parseExtendedPart2 index: {}", br.getPositionInBits());
 
-        final MiscStats miscStats = txtProperties.getMiscItemsByCode(itemScaffolding.getCode());
         switch (itemScaffolding.getItemType()) {
             case ItemType.ARMOR -> parseArmorStats(itemBuilder, br);
-            case ItemType.WEAPON -> parseWeaponStats(itemBuilder, itemScaffolding, br, txtProperties.getWeaponStatsByCode(itemScaffolding.getCode()));
-            case ItemType.MISC -> parseMiscStats(itemBuilder, br, miscStats);
+            case ItemType.WEAPON -> parseWeaponStats(itemBuilder, itemScaffolding, br, baseItem.weaponStats());
+            case ItemType.MISC -> parseMiscStats(itemBuilder, br, baseItem.miscStats());
         }
 
-        if (itemScaffolding.getMaxStacks() == 0 && !"xyz".equals(itemScaffolding.getCode())) {
+        if (itemScaffolding.getMaxStacks() == 0 && itemScaffolding.getPackedCode() != CODE_POTION_OF_LIFE) {
             // this is new in RotW and a bit ugly: if the item was stackable we read sufficient bytes, otherwise we'll have to skip another bit.
             br.skip(1);
         }
@@ -402,7 +423,7 @@ final class ItemParser {
             }
         }
 
-        final List<ItemProperty> itemProperties = readProperties(br, Item.isJewel(itemScaffolding.getCode()) ? 1 : 0);
+        final List<ItemProperty> itemProperties = itemStatDecoder.readProperties(br, Item.isJewel(itemScaffolding.getCode()) ? 1 : 0);
         itemBuilder.addProperties(itemProperties);
 
         itemProperties.stream()
@@ -415,7 +436,7 @@ final class ItemParser {
         }
 
         if (itemScaffolding.isRuneword()) {
-            itemBuilder.addProperties(readProperties(br, 0));
+            itemBuilder.addProperties(itemStatDecoder.readProperties(br, 0));
         }
 
         if(br.readShort(1) == 1) {
@@ -435,10 +456,10 @@ final class ItemParser {
                     .map(item -> item.itemName().replace(" Rune", ""))
                     .collect(Collectors.joining());
 
-            txtProperties.getRunewords().stream()
-                    .filter(rw -> rw.isThisARuneword(runes))
-                    .findFirst()
-                    .ifPresent(value -> itemBuilder.itemName(value.getName()));
+            final Runeword runeword = txtProperties.getRunewordByRunes(runes);
+            if (runeword != null) {
+                itemBuilder.itemName(runeword.getName());
+            }
         }
 
         if (itemScaffolding.getCntFilledSockets() > 0
@@ -455,7 +476,7 @@ final class ItemParser {
     private void parseSetProperties(Item.ItemBuilder itemBuilder, BitReader br, int[] lSet) {
         for (int i = 0; i < 5; i++) {
             if (lSet[i] == 1) {
-                itemBuilder.addProperties(readProperties(br, i + 2));
+                itemBuilder.addProperties(itemStatDecoder.readProperties(br, i + 2));
             }
         }
     }
@@ -586,74 +607,16 @@ final class ItemParser {
         itemScaffolding.setSocketedItems(socketedItems);
     }
 
-    private ItemType determineItemType(ArmorStats armorStats, WeaponStats weaponStats, MiscStats miscStats) {
-        if (armorStats != null) {
-            return ItemType.ARMOR;
-        }
-        if (weaponStats != null) {
-            return ItemType.WEAPON;
-        }
-        if (miscStats != null) {
-            return ItemType.MISC;
-        }
-        throw new ParseException("All item types are null, issue parsing 'item'");
-    }
-
-    private List<ItemProperty> readProperties(BitReader br, int qflag) {
-        List<ItemProperty> properties = new ArrayList<>();
-        int rootProp = br.readInt(9);
-        while (rootProp != ParseHelper.PROPERTY_END && rootProp < 368) {
-            ItemProperty itemProperty = parseItemProperty(br, rootProp, qflag);
-            log.debug("rootprop: {}, property: {}", rootProp, itemProperty);
-            properties.add(itemProperty);
-            if (rootProp == ParseHelper.PROPERTY_PHYS_MAX_DMG
-                    || rootProp == ParseHelper.PROPERTY_FIRE_MIN_DMG
-                    || rootProp == ParseHelper.PROPERTY_LIGHT_MIN_DMG
-                    || rootProp == ParseHelper.PROPERTY_MAGIC_MIN_DMG) {
-                properties.add(parseItemProperty(br, rootProp + 1, qflag));
-            } else if (rootProp == ParseHelper.PROPERTY_COLD_MIN_DMG || rootProp == ParseHelper.PROPERTY_POISON_MIN_DMG) { // these also include the duration value
-                properties.add(parseItemProperty(br, rootProp + 1, qflag));
-                properties.add(parseItemProperty(br, rootProp + 2, qflag));
-            }
-
-            rootProp = br.readInt(9);
-        }
-        return properties;
-    }
-
-    private ItemProperty parseItemProperty(BitReader br, int rootProp, int qflag) {
-        ItemStatCost itemStatCost = txtProperties.getItemStatCostsByID(rootProp);
-        int length = itemStatCost.getSaveBits();
-        int saveAdd = itemStatCost.getSaveAdd();
-
-        log.debug("rootProp {}, readLength: {}, saveAdd: {}", rootProp, length, saveAdd);
-
-        if (rootProp == ParseHelper.PROPERTY_SKILL_GET_HIT
-                || rootProp == ParseHelper.PROPERTY_SKILL_DEATH
-                || rootProp == ParseHelper.PROPERTY_SKILL_LEVEL_UP
-                || rootProp == ParseHelper.PROPERTY_SKILL_ATTACK
-                || rootProp == ParseHelper.PROPERTY_SKILL_HIT
-                || rootProp == ParseHelper.PROPERTY_SKILL_KILL) {
-            return new ItemProperty(rootProp, itemStatCost.getStat(), new int[]{br.readInt(6) - saveAdd, br.readInt(10) - saveAdd, br.readInt(length) - saveAdd}, qflag, itemStatCost.getDescPriority());
-        } else if (rootProp == ParseHelper.PROPERTY_CHARGED_SKILL) {
-            return new ItemProperty(rootProp, itemStatCost.getStat(), new int[]{br.readInt(6) - saveAdd, br.readInt(10) - saveAdd, br.readInt(8) - saveAdd, br.readInt(8) - saveAdd}, qflag, itemStatCost.getDescPriority());
-        } else if (itemStatCost.getSaveParamBits() >= 0) {
-            return new ItemProperty(rootProp, itemStatCost.getStat(), new int[]{br.readInt(itemStatCost.getSaveParamBits()) - saveAdd, br.readInt(length) - saveAdd}, qflag, itemStatCost.getDescPriority());
-        }
-
-        return new ItemProperty(rootProp, itemStatCost.getStat(), new int[]{br.readInt(length) - saveAdd}, qflag, itemStatCost.getDescPriority());
-    }
-
-    private ItemScaffolding getBasicItemStats(String code, ItemType itemType, ArmorStats armorStats, WeaponStats weaponStats, final MiscStats miscStats,
+    private ItemScaffolding getBasicItemStats(String code, int packedCode, ItemType itemType, ArmorStats armorStats, WeaponStats weaponStats, final MiscStats miscStats,
                                               final boolean isPersonalized, final boolean isRuneword, final boolean isSocketed, boolean isEthereal, boolean hasChronicleData) {
         return switch (itemType) {
-            case ARMOR -> new ItemScaffolding(code, armorStats.getName(), armorStats.getType(), armorStats.getType2(), armorStats.getReqStr(),
+            case ARMOR -> new ItemScaffolding(code, packedCode, armorStats.getName(), armorStats.getType(), armorStats.getType2(), armorStats.getReqStr(),
                     armorStats.getReqDex(), armorStats.getReqLvl(), isPersonalized, isRuneword, isSocketed, isEthereal, itemType, armorStats.getInvWidth(),
                     armorStats.getInvHeight(), 0, hasChronicleData, armorStats.isQuestDiffCheck());
-            case WEAPON -> new ItemScaffolding(code, weaponStats.getName(), weaponStats.getType(), weaponStats.getType2(), weaponStats.getReqStr(),
+            case WEAPON -> new ItemScaffolding(code, packedCode, weaponStats.getName(), weaponStats.getType(), weaponStats.getType2(), weaponStats.getReqStr(),
                     weaponStats.getReqDex(), weaponStats.getReqLvl(), isPersonalized, isRuneword, isSocketed, isEthereal, itemType, weaponStats.getInvWidth(),
                     weaponStats.getInvHeight(), weaponStats.getMaxStacks(), hasChronicleData, weaponStats.isQuestDiffCheck());
-            case MISC -> new ItemScaffolding(code, miscStats.getName(), miscStats.getType(), miscStats.getType2(), miscStats.getReqStr(),
+            case MISC -> new ItemScaffolding(code, packedCode, miscStats.getName(), miscStats.getType(), miscStats.getType2(), miscStats.getReqStr(),
                     miscStats.getReqStr(), miscStats.getReqLvl(), isPersonalized, isRuneword, isSocketed, isEthereal, itemType, miscStats.getInvWidth(),
                     miscStats.getInvHeight(), miscStats.getMaxStacks(), hasChronicleData, miscStats.isQuestDiffCheck());
         };
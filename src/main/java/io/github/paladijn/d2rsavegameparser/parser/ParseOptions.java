@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2026   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.parser;
+
+/**
+ * Selects which sections of a savegame file the {@link CharacterParser} decodes. The header fields (name, class, level, status,
+ * locations and mercenary details) are always read, every section that isn't selected is skipped by its offset and left empty
+ * in the resulting {@link io.github.paladijn.d2rsavegameparser.model.D2Character}.
+ *
+ * @param quests parse the quest data per difficulty
+ * @param waypoints parse the waypoints per difficulty
+ * @param attributes parse the character attributes such as life, experience and gold
+ * @param skills parse the skill levels
+ * @param items parse the items of the character
+ * @param mercenaryItems parse the items of the mercenary, a mercenary without items is not added
+ * @param golemItem parse the item of the iron golem
+ * @param corpseItems parse the items on the dead body of the character
+ * @param bonuses resolve the active set bonuses and the passive skill bonuses, requires the items and skills
+ *
+ * @author Paladijn
+ */
+public record ParseOptions(boolean quests, boolean waypoints, boolean attributes, boolean skills, boolean items,
+                           boolean mercenaryItems, boolean golemItem, boolean corpseItems, boolean bonuses) {
+
+    /**
+     * Parse everything, this is what {@link CharacterParser#parse(java.nio.ByteBuffer)} uses.
+     */
+    public static final ParseOptions ALL = new ParseOptions(true, true, true, true, true, true, true, true, true);
+
+    public ParseOptions {
+        if (bonuses && !(items && skills)) {
+            throw new IllegalArgumentException("The set and passive skill bonuses can only be resolved when parsing the items and skills");
+        }
+    }
+
+    /**
+     * @return true if any of the item lists needs to be parsed, which requires the txt files.
+     */
+    boolean anyItems() {
+        return items || mercenaryItems || golemItem || corpseItems;
+    }
+
+    /**
+     * Builder class for creating instances of {@link ParseOptions}. Nothing but the header is selected by default.
+     */
+    public static final class ParseOptionsBuilder {
+        private boolean quests;
+        private boolean waypoints;
+        private boolean attributes;
+        private boolean skills;
+        private boolean items;
+        private boolean mercenaryItems;
+        private boolean golemItem;
+        private boolean corpseItems;
+        private boolean bonuses;
+
+        /**
+         * @param quests true to parse the quest data per difficulty
+         * @return The current ParseOptionsBuilder instance.
+         */
+        public ParseOptionsBuilder quests(boolean quests) {
+            this.quests = quests;
+            return this;
+        }
+
+        /**
+         * @param waypoints true to parse the waypoints per difficulty
+         * @return The current ParseOptionsBuilder instance.
+         */
+        public ParseOptionsBuilder waypoints(boolean waypoints) {
+            this.waypoints = waypoints;
+            return this;
+        }
+
+        /**
+         * @param attributes true to parse the character attributes such as life, experience and gold
+         * @return The current ParseOptionsBuilder instance.
+         */
+        public ParseOptionsBuilder attributes(boolean attributes) {
+            this.attributes = attributes;
+            return this;
+        }
+
+        /**
+         * @param skills true to parse the skill levels
+         * @return The current ParseOptionsBuilder instance.
+         */
+        public ParseOptionsBuilder skills(boolean skills) {
+            this.skills = skills;
+            return this;
+        }
+
+        /**
+         * @param items true to parse the items of the character
+         * @return The current ParseOptionsBuilder instance.
+         */
+        public ParseOptionsBuilder items(boolean items) {
+            this.items = items;
+            return this;
+        }
+
+        /**
+         * @param mercenaryItems true to parse the items of the mercenary
+         * @return The current ParseOptionsBuilder instance.
+         */
+        public ParseOptionsBuilder mercenaryItems(boolean mercenaryItems) {
+            this.mercenaryItems = mercenaryItems;
+            return this;
+        }
+
+        /**
+         * @param golemItem true to parse the item of the iron golem
+         * @return The current ParseOptionsBuilder instance.
+         */
+        public ParseOptionsBuilder golemItem(boolean golemItem) {
+            this.golemItem = golemItem;
+            return this;
+        }
+
+        /**
+         * @param corpseItems true to parse the items on the dead body of the character
+         * @return The current ParseOptionsBuilder instance.
+         */
+        public ParseOptionsBuilder corpseItems(boolean corpseItems) {
+            this.corpseItems = corpseItems;
+            return this;
+        }
+
+        /**
+         * @param bonuses true to resolve the active set bonuses and the passive skill bonuses, this requires the items and skills
+         * @return The current ParseOptionsBuilder instance.
+         */
+        public ParseOptionsBuilder bonuses(boolean bonuses) {
+            this.bonuses = bonuses;
+            return this;
+        }
+
+        public ParseOptions build() {
+            return new ParseOptions(quests, waypoints, attributes, skills, items, mercenaryItems, golemItem, corpseItems, bonuses);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright (C) 2026   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.parser;
+
+import io.github.paladijn.d2rsavegameparser.model.D2Character;
+import io.github.paladijn.d2rsavegameparser.model.SharedStashTab;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Parses all character (.d2s) and shared stash (.d2i) files in a directory and its subdirectories, for example the Diablo II:
+ * resurrected "Saved Games" folder or an archive of many accounts. The files are parsed concurrently by a bounded number of worker
+ * threads, each with its own {@link CharacterParser} and {@link SharedStashParser}, and a file that can't be parsed doesn't stop
+ * the others.
+ *
+ * @author Paladijn
+ */
+public final class SaveDirectoryParser {
+    private static final Logger log = getLogger(SaveDirectoryParser.class);
+
+    private static final String CHARACTER_EXTENSION = ".d2s";
+    private static final String SHARED_STASH_EXTENSION = ".d2i";
+
+    private final int parallelism;
+
+    private final Supplier<FileParser> workerParsers;
+
+    /**
+     * Parses a single file on a worker thread, an instance is only used by the worker that created it.
+     */
+    @FunctionalInterface
+    interface FileParser {
+        Result parse(Path path);
+    }
+
+    /**
+     * The outcome of parsing one file.
+     */
+    public sealed interface Result {
+        /**
+         * @return the path of the parsed file
+         */
+        Path path();
+    }
+
+    /**
+     * A parsed character file.
+     * @param path the path of the file
+     * @param character the parsed {@link D2Character}
+     */
+    public record CharacterResult(Path path, D2Character character) implements Result { }
+
+    /**
+     * A parsed shared stash file.
+     * @param path the path of the file
+     * @param tabs the parsed {@link SharedStashTab}s
+     */
+    public record SharedStashResult(Path path, List<SharedStashTab> tabs) implements Result { }
+
+    /**
+     * A file that could not be parsed.
+     * @param path the path of the file
+     * @param exception the reason it could not be parsed
+     */
+    public record Failure(Path path, ParseException exception) implements Result { }
+
+    /**
+     * Constructor for the {@link SaveDirectoryParser} using one worker per available processor.
+     */
+    public SaveDirectoryParser() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor for the {@link SaveDirectoryParser}
+     * @param parallelism the maximum number of files parsed at the same time.
+     */
+    public SaveDirectoryParser(int parallelism) {
+        this(parallelism, SaveDirectoryParser::newFileParser);
+    }
+
+    SaveDirectoryParser(final int parallelism, final Supplier<FileParser> workerParsers) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism should be at least 1, but was " + parallelism);
+        }
+        this.parallelism = parallelism;
+        this.workerParsers = workerParsers;
+    }
+
+    /**
+     * Parse all savegame files in the directory and its subdirectories. The results are returned as soon as each file is parsed,
+     * so their order differs from run to run. Closing the stream stops parsing the remaining files.
+     * @param directory the directory to search for .d2s and .d2i files
+     * @return a {@link Stream} with one {@link Result} per file
+     * @throws ParseException in case the directory could not be read
+     */
+    public Stream<Result> parse(final Path directory) {
+        final List<Path> files = findSaveFiles(directory);
+        log.debug("found {} savegame files in {}", files.size(), directory);
+        if (files.isEmpty()) {
+            return Stream.empty();
+        }
+
+        final Queue<Path> pending = new ConcurrentLinkedQueue<>(files);
+        final BlockingQueue<Result> results = new LinkedBlockingQueue<>();
+        final int workers = Math.min(parallelism, files.size());
+        final AtomicInteger activeWorkers = new AtomicInteger(workers);
+        final ExecutorService executor = Executors.newFixedThreadPool(workers, Thread.ofPlatform().daemon().name("d2r-save-parser-", 0)
+                .uncaughtExceptionHandler((thread, e) -> log.error("{} stopped", thread.getName(), e))
+                .factory());
+        for (int i = 0; i < workers; i++) {
+            executor.execute(() -> parsePending(pending, results, activeWorkers));
+        }
+        // the workers finish once the queue is empty, no more tasks will be added
+        executor.shutdown();
+
+        // every file gets exactly one result, also when parsing it ends in an error, so the stream always ends
+        return Stream.generate(() -> takeResult(results))
+                .limit(files.size())
+                .onClose(() -> {
+                    pending.clear();
+                    executor.shutdownNow();
+                });
+    }
+
+    private static List<Path> findSaveFiles(final Path directory) {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            return paths.filter(Files::isRegularFile)
+                    .filter(path -> isCharacter(path) || isSharedStash(path))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new ParseException("Could not read %s".formatted(directory), e);
+        }
+    }
+
+    private static FileParser newFileParser() {
+        final CharacterParser characterParser = new CharacterParser(false);
+        final SharedStashParser sharedStashParser = new SharedStashParser(false);
+        return path -> isCharacter(path)
+                ? new CharacterResult(path, characterParser.parse(path))
+                : new SharedStashResult(path, sharedStashParser.parse(path));
+    }
+
+    private void parsePending(final Queue<Path> pending, final BlockingQueue<Result> results, final AtomicInteger activeWorkers) {
+        try {
+            final FileParser fileParser = workerParsers.get();
+            for (Path path = pending.poll(); path != null && !Thread.currentThread().isInterrupted(); path = pending.poll()) {
+                final Result result = parseFile(path, fileParser);
+                results.add(result);
+                if (result instanceof Failure failure && isFatal(failure.exception().getCause())) {
+                    // the result of this file is posted, the remaining files are left to the other workers
+                    throw (Error) failure.exception().getCause();
+                }
+            }
+        } finally {
+            if (activeWorkers.decrementAndGet() == 0) {
+                // only files that no worker is left for remain here, unless the stream was closed and nobody is waiting anymore
+                for (Path path = pending.poll(); path != null; path = pending.poll()) {
+                    results.add(new Failure(path, new ParseException("Could not parse %s, all workers stopped on an error".formatted(path))));
+                }
+            }
+        }
+    }
+
+    private static Result parseFile(final Path path, final FileParser fileParser) {
+        try {
+            return fileParser.parse(path);
+        } catch (ParseException e) {
+            log.debug("could not parse {}", path, e);
+            return new Failure(path, e);
+        } catch (RuntimeException | Error e) {
+            // a damaged file can make the parsers read beyond the end of a section, or recurse or allocate without end
+            log.debug("could not parse {}", path, e);
+            return new Failure(path, new ParseException("Could not parse %s".formatted(path), e));
+        }
+    }
+
+    /**
+     * A stack overflow is unwound by the time it's caught, but after any other error of the VM the worker shouldn't continue.
+     */
+    private static boolean isFatal(final Throwable cause) {
+        return cause instanceof VirtualMachineError && !(cause instanceof StackOverflowError);
+    }
+
+    private static Result takeResult(final BlockingQueue<Result> results) {
+        try {
+            return results.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ParseException("Interrupted while waiting for the next parsed file", e);
+        }
+    }
+
+    private static boolean isCharacter(final Path path) {
+        return path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(CHARACTER_EXTENSION);
+    }
+
+    private static boolean isSharedStash(final Path path) {
+        return path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(SHARED_STASH_EXTENSION);
+    }
+}
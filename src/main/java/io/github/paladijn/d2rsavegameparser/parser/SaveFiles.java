@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2026   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.parser;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Function;
+
+/**
+ * Helper to read savegame files from disk for the parsers.
+ */
+final class SaveFiles {
+
+    /**
+     * Files from this size on are memory-mapped instead of read onto the heap. Character and shared stash files are far smaller,
+     * mapping those saves nothing and keeps the file locked on Windows until the buffer is collected.
+     */
+    static final int MAP_THRESHOLD = 1 << 20;
+
+    private SaveFiles() {
+        // Helper class, don't instantiate me.
+    }
+
+    /**
+     * Open a savegame file and parse it. Files below {@link #MAP_THRESHOLD} are read onto the heap, bigger ones are
+     * memory-mapped read-only. Accessing a mapped file which is truncated or rewritten while it's being parsed fails with an
+     * {@link InternalError}, this is reported as a {@link ParseException} instead.
+     * @param path the savegame file
+     * @param parser the parser to apply to the little-endian {@link ByteBuffer} of the whole file
+     * @return the result of the parser
+     * @param <T> the type of the parsed result
+     * @throws ParseException in case the file could not be read or changed while it was parsed
+     */
+    static <T> T parse(final Path path, final Function<ByteBuffer, T> parser) {
+        final ByteBuffer buffer = open(path);
+        try {
+            return parser.apply(buffer);
+        } catch (InternalError e) {
+            throw new ParseException("Could not read %s, the file changed while it was being parsed".formatted(path), e);
+        }
+    }
+
+    /**
+     * Read a savegame file onto the heap, for buffers that are kept around after parsing so they can't fail later on and don't
+     * lock the file.
+     * @param path the savegame file
+     * @return a little-endian {@link ByteBuffer} of the whole file
+     * @throws ParseException in case the file could not be read
+     */
+    static ByteBuffer read(final Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return read(channel, path);
+        } catch (IOException e) {
+            throw new ParseException("Could not read %s".formatted(path), e);
+        }
+    }
+
+    private static ByteBuffer open(final Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() >= MAP_THRESHOLD) {
+                // the mapping stays valid after the channel is closed and is released once the buffer is collected
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+            }
+            return read(channel, path);
+        } catch (IOException e) {
+            throw new ParseException("Could not read %s".formatted(path), e);
+        }
+    }
+
+    private static ByteBuffer read(final FileChannel channel, final Path path) throws IOException {
+        final long size = channel.size();
+        if (size > Integer.MAX_VALUE) {
+            throw new ParseException("%s is too big to be a savegame file (%d bytes)".formatted(path, size));
+        }
+        // the game may be writing the file right now, in which case we read what's there and let the parser complain
+        final ByteBuffer buffer = ByteBuffer.allocate((int) size);
+        while (buffer.hasRemaining() && channel.read(buffer) != -1) {
+            // keep reading until the buffer is full or the file ends
+        }
+        return buffer.flip().order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
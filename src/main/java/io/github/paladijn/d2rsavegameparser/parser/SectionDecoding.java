@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2026   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.parser;
+
+import io.github.paladijn.d2rsavegameparser.internal.parser.ParseHelper;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Helper for the parsers to decode independent sections of a savegame file, either directly or concurrently on an {@link Executor}.
+ */
+final class SectionDecoding {
+
+    private SectionDecoding() {
+        // Helper class, don't instantiate me.
+    }
+
+    /**
+     * Decode a section.
+     * @param executor the {@link Executor} to decode the section on, or null to decode it right away on the calling thread
+     * @param section the decoding of the section
+     * @return the (future) result of the section
+     */
+    static <T> CompletableFuture<T> decode(final Executor executor, final Supplier<T> section) {
+        if (executor == null) {
+            return CompletableFuture.completedFuture(section.get());
+        }
+        return CompletableFuture.supplyAsync(section, executor);
+    }
+
+    /**
+     * Wait for all sections to be decoded. As soon as one of them fails, the others are cancelled so those that haven't started
+     * yet aren't decoded for nothing, and the exception of the failed section is rethrown.
+     * @param sections the (future) results of the sections, null for sections that aren't decoded
+     */
+    static void awaitAll(final CompletableFuture<?>... sections) {
+        final CompletableFuture<?>[] decoding = Arrays.stream(sections).filter(Objects::nonNull).toArray(CompletableFuture<?>[]::new);
+        final CompletableFuture<Void> all = CompletableFuture.allOf(decoding);
+        for (CompletableFuture<?> section : decoding) {
+            // allOf only completes once every section is done, don't wait for the others when one fails
+            section.whenComplete((result, e) -> {
+                if (e != null) {
+                    all.completeExceptionally(e);
+                }
+            });
+        }
+        try {
+            ParseHelper.join(all);
+        } catch (RuntimeException | Error e) {
+            for (CompletableFuture<?> section : decoding) {
+                section.cancel(false);
+            }
+            throw e;
+        }
+    }
+}
@@ -19,8 +19,11 @@ package io.github.paladijn.d2rsavegameparser.parser;
 
 
 import io.github.paladijn.d2rsavegameparser.internal.parser.BitReader;
+import io.github.paladijn.d2rsavegameparser.internal.parser.MarkerScanner;
+import io.github.paladijn.d2rsavegameparser.internal.parser.ParseHelper;
 import io.github.paladijn.d2rsavegameparser.model.ChronicleItem;
 import io.github.paladijn.d2rsavegameparser.model.ChronicleStashTab;
+import io.github.paladijn.d2rsavegameparser.model.Item;
 import io.github.paladijn.d2rsavegameparser.model.ItemQuality;
 import io.github.paladijn.d2rsavegameparser.model.SharedStashTab;
 import org.slf4j.Logger;
@@ -28,12 +31,14 @@ import org.slf4j.LoggerFactory;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Parser for the shared stash files that were introduced by Diablo II: resurrected. This reads both the SharedStashSoftCoreV2.d2i and the SharedStashHardCoreV2.d2i.
@@ -41,7 +46,8 @@ import java.util.List;
  * @author Paladijn
  */
 public final class SharedStashParser {
-    private static final byte[] STASH_INIT_BYTES = {85, -86, 85, -86};
+    private static final int STASH_HEADER_LENGTH = 4;
+    private static final int TAB_HEADER_LENGTH = 20;
 
     /** Softcore shared stash filename */
     public static final String SOFTCORE_SHARED_STASH = "SharedStashSoftCoreV2.d2i";
@@ -54,12 +60,24 @@ public final class SharedStashParser {
 
     private final ItemParser itemParser;
 
+    private final Executor tabExecutor;
+
     /**
      * Constructor for the {@link SharedStashParser}
      * @param printItemBytes helper boolean to log the bytes[] per Item for unit tests and debugging.
      */
     public SharedStashParser(boolean printItemBytes) {
+        this(printItemBytes, null);
+    }
+
+    /**
+     * Constructor for the {@link SharedStashParser} which parses the tabs concurrently, to reduce the time to parse a single large stash.
+     * @param printItemBytes helper boolean to log the bytes[] per Item for unit tests and debugging.
+     * @param tabExecutor the {@link Executor} to parse the tabs on, or null to parse them one after another.
+     */
+    public SharedStashParser(boolean printItemBytes, Executor tabExecutor) {
         itemParser = new ItemParser(printItemBytes);
+        this.tabExecutor = tabExecutor;
     }
 
     /**
@@ -71,22 +89,59 @@ public final class SharedStashParser {
     public List<SharedStashTab> parse(final ByteBuffer buffer) {
         buffer.order(ByteOrder.LITTLE_ENDIAN);
 
+        // each tab covers its own range of the file, so with an executor they are parsed concurrently
+        final List<CompletableFuture<SharedStashTab>> parsedTabs = new ArrayList<>();
+        for (int index : getItemTabIndices(buffer)) {
+            parsedTabs.add(SectionDecoding.decode(tabExecutor, () -> parseTab(index, buffer)));
+        }
+
+        SectionDecoding.awaitAll(parsedTabs.toArray(CompletableFuture<?>[]::new));
         final List<SharedStashTab> tabs = new ArrayList<>();
-        final List<Integer> tabIndices = getStartIndices(buffer);
+        for (CompletableFuture<SharedStashTab> parsedTab : parsedTabs) {
+            tabs.add(ParseHelper.join(parsedTab));
+        }
+        return tabs;
+    }
 
-        if (tabIndices.size() == 3) {
-            log.debug("parsing pre-RotW shared stash");
-            tabIndices.forEach( index -> tabs.add(parseTab(index, buffer)));
-        } else {
-            if (tabIndices.size() != 7) {
-                throw new ParseException("SharedStash did not contain seven tabs, but " + tabIndices.size());
-            }
-            for (int i = 0; i < 6; i++) { // skip the last tab as that contains the Chronicle data
-                tabs.add(parseTab(tabIndices.get(i), buffer));
-            }
+    /**
+     * Parse a shared stash file to a list of {@link SharedStashTab}. Shared stash files are small and read onto the heap, only
+     * files of {@value SaveFiles#MAP_THRESHOLD} bytes or more are memory-mapped. On Windows a mapped file can't be replaced
+     * until the buffer has been garbage collected.
+     * @param path the path of a Diablo II: resurrected shared stash file
+     * @return a list of {@link SharedStashTab}
+     * @throws ParseException in case the file could not be read or there was an issue parsing it
+     */
+    public List<SharedStashTab> parse(final Path path) {
+        return SaveFiles.parse(path, this::parse);
+    }
+
+    /**
+     * Index the tabs of a shared stash file without parsing their items yet. The gold and item count of each tab are available
+     * right away, the items of a tab are only parsed when they are first requested from the {@link SharedStashView}.
+     * @param buffer a {@link ByteBuffer} of a Diablo II: resurrected shared stash file
+     * @return a {@link SharedStashView} of the tabs
+     * @throws ParseException in case there was an issue parsing the tab headers
+     */
+    public SharedStashView view(final ByteBuffer buffer) {
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        final List<Integer> tabIndices = getItemTabIndices(buffer);
+        final List<SharedStashTab> headers = new ArrayList<>();
+        for (int index : tabIndices) {
+            headers.add(parseHeader(index, buffer));
         }
+        return new SharedStashView(buffer, tabIndices, headers, this::tabItemCursor);
+    }
 
-        return tabs;
+    /**
+     * Index the tabs of a shared stash file without parsing their items yet. The file is always read onto the heap, as the view
+     * keeps its content for as long as it's in use and a mapping would keep the file locked on Windows all that time.
+     * @param path the path of a Diablo II: resurrected shared stash file
+     * @return a {@link SharedStashView} of the tabs
+     * @throws ParseException in case the file could not be read or there was an issue parsing the tab headers
+     */
+    public SharedStashView view(final Path path) {
+        return view(SaveFiles.read(path));
     }
 
     public ChronicleStashTab getChronicleStashTab(final ByteBuffer buffer) {
@@ -104,9 +159,7 @@ public final class SharedStashParser {
         final SharedStashTab stashWithoutItems = parseHeader(index, buffer);
         log.debug("Parsing Chronicle tab at index {} length {}", index, stashWithoutItems.lengthInBytes());
 
-        byte[] countBytes = new byte[6];
-        buffer.get(index + 70, countBytes, 0, 6);
-        final BitReader countData = new BitReader(countBytes);
+        final BitReader countData = new BitReader(buffer, index + 70, 6);
         final int cntSetItems = countData.readShort(16);
         final int cntUniques = countData.readShort(16);
         final int cntRunewords = countData.readShort(16);
@@ -115,9 +168,7 @@ public final class SharedStashParser {
         final List<ChronicleItem> uniques = new ArrayList<>();
         final List<ChronicleItem> runewords = new ArrayList<>();
 
-        byte[] itemBytes = new byte[total * 10];
-        buffer.get(index + 84, itemBytes, 0, itemBytes.length);
-        final BitReader brItemData = new BitReader(itemBytes);
+        final BitReader brItemData = new BitReader(buffer, index + 84, total * 10);
 
         for (int i = 0; i < cntSetItems; i++) {
             ChronicleItem setItem = getChronicleItem(brItemData, ItemQuality.SET);
@@ -157,19 +208,40 @@ public final class SharedStashParser {
         final SharedStashTab stashWithoutItems = parseHeader(index, buffer);
         log.debug("Parsing tab at index {} length {}, gold {}", index, stashWithoutItems.lengthInBytes(), stashWithoutItems.gold());
 
-        // the items start at byte 64, this feels a bit hacky because we have to re-use the header content to calculate the end index of the items
         return new SharedStashTab.SharedStashTabBuilder()
                 .version(stashWithoutItems.version())
                 .gold(stashWithoutItems.gold())
                 .lengthInBytes(stashWithoutItems.lengthInBytes())
-                .items(itemParser.parseItems(buffer, index + 64, index + stashWithoutItems.lengthInBytes()))
+                .items(parseTabItems(index, buffer, stashWithoutItems))
                 .build();
     }
 
+    private List<Item> parseTabItems(final int index, final ByteBuffer buffer, final SharedStashTab header) {
+        // the items start at byte 64, this feels a bit hacky because we have to re-use the header content to calculate the end index of the items
+        return itemParser.parseItems(buffer, index + 64, index + header.lengthInBytes());
+    }
+
+    private ItemCursor tabItemCursor(final int index, final ByteBuffer buffer, final SharedStashTab header) {
+        return itemParser.cursor(buffer, index + 64, index + header.lengthInBytes());
+    }
+
+    /**
+     * @return the start indices of the tabs with items, without the Chronicle tab of a Reign of the Warlock stash
+     */
+    private List<Integer> getItemTabIndices(final ByteBuffer buffer) {
+        final List<Integer> tabIndices = getStartIndices(buffer);
+        if (tabIndices.size() == 3) {
+            log.debug("parsing pre-RotW shared stash");
+            return tabIndices;
+        }
+        if (tabIndices.size() != 7) {
+            throw new ParseException("SharedStash did not contain seven tabs, but " + tabIndices.size());
+        }
+        return tabIndices.subList(0, 6); // skip the last tab as that contains the Chronicle data
+    }
+
     private SharedStashTab parseHeader(final int index, final ByteBuffer buffer) {
-        byte[] headerBytes = new byte[20];
-        buffer.get(index, headerBytes, 0, 20);
-        final BitReader headerData = new BitReader(headerBytes);
+        final BitReader headerData = new BitReader(buffer, index, 20);
         headerData.skip(64); // skip the first 8 bytes
 
         final int version = headerData.readInt();
@@ -184,20 +256,47 @@ public final class SharedStashParser {
                 .build();
     }
 
+    /**
+     * Find the start of every tab. The length of a tab is in its header, so we jump from header to header and only scan for the
+     * next 55 AA 55 AA in case a length doesn't lead to a header, for example in a damaged file.
+     */
     private List<Integer> getStartIndices(ByteBuffer buffer) {
-        List<Integer> indices = new ArrayList<>();
-        for (int i = 0; i < buffer.limit() - 3; i++) {
-            if (buffer.get(i) == 85) { // in this case check for 55 AA 55 AA
-                byte[] header = new byte[4];
-                buffer.get(i, header, 0, 4);
-                if (Arrays.equals(header, STASH_INIT_BYTES)) {
-                    indices.add(i);
-                    i += 3; // we can skip the next 3 bytes
-                }
+        final List<Integer> indices = new ArrayList<>();
+        int index = findTabHeader(buffer, 0);
+        while (index != -1) {
+            indices.add(index);
+            final int next = index + tabLength(buffer, index);
+            if (next > index + TAB_HEADER_LENGTH && next == buffer.limit()) {
+                break;
+            }
+            if (next > index + TAB_HEADER_LENGTH && isTabHeader(buffer, next)) {
+                index = next;
+            } else {
+                log.debug("tab at {} does not end at a tab header, scanning for the next one", index);
+                index = findTabHeader(buffer, index + STASH_HEADER_LENGTH);
             }
         }
         log.debug("start indices: {}", indices);
 
         return indices;
     }
+
+    private static int tabLength(final ByteBuffer buffer, final int index) {
+        return index + TAB_HEADER_LENGTH <= buffer.limit() ? buffer.getInt(index + 16) : 0;
+    }
+
+    private static boolean isTabHeader(final ByteBuffer buffer, final int index) {
+        return MarkerScanner.matches(buffer, index, MarkerScanner.STASH_HEADER)
+                && MarkerScanner.matches(buffer, index + 2, MarkerScanner.STASH_HEADER);
+    }
+
+    private static int findTabHeader(final ByteBuffer buffer, final int from) {
+        for (int candidate = MarkerScanner.indexOf(buffer, MarkerScanner.STASH_HEADER, from, buffer.limit() - 3); candidate != -1;
+             candidate = MarkerScanner.indexOf(buffer, MarkerScanner.STASH_HEADER, candidate + 1, buffer.limit() - 3)) {
+            if (isTabHeader(buffer, candidate)) {
+                return candidate;
+            }
+        }
+        return -1;
+    }
 }
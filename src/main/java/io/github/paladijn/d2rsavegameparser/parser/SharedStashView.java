@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2026   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.parser;
+
+import io.github.paladijn.d2rsavegameparser.model.Item;
+import io.github.paladijn.d2rsavegameparser.model.SharedStashTab;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lazy view of the tabs of a shared stash file, created by {@link SharedStashParser#view(ByteBuffer)}. The header of every tab is
+ * read up front, so the gold and item count are available right away. The items of a tab are parsed when they are first
+ * requested and kept for later calls. A view can be used from several threads.
+ *
+ * @author Paladijn
+ */
+public final class SharedStashView {
+
+    @FunctionalInterface
+    interface TabItemCursor {
+        ItemCursor create(int index, ByteBuffer buffer, SharedStashTab header);
+    }
+
+    private final ByteBuffer buffer;
+    private final List<Integer> tabIndices;
+    private final List<SharedStashTab> headers;
+    private final TabItemCursor tabItemCursor;
+    private final AtomicReferenceArray<List<Item>> items;
+
+    SharedStashView(final ByteBuffer buffer, final List<Integer> tabIndices, final List<SharedStashTab> headers, final TabItemCursor tabItemCursor) {
+        this.buffer = buffer;
+        this.tabIndices = List.copyOf(tabIndices);
+        this.headers = List.copyOf(headers);
+        this.tabItemCursor = tabItemCursor;
+        this.items = new AtomicReferenceArray<>(tabIndices.size());
+    }
+
+    /**
+     * @return the number of tabs with items, 3 for a classic stash and 6 for a Reign of the Warlock stash
+     */
+    public int tabCount() {
+        return headers.size();
+    }
+
+    /**
+     * @param tab the index of the tab, starting at 0
+     * @return the version of the tab
+     */
+    public int version(final int tab) {
+        return headers.get(tab).version();
+    }
+
+    /**
+     * @param tab the index of the tab, starting at 0
+     * @return the gold in the tab
+     */
+    public int gold(final int tab) {
+        return headers.get(tab).gold();
+    }
+
+    /**
+     * @param tab the index of the tab, starting at 0
+     * @return the length of the tab in bytes
+     */
+    public int lengthInBytes(final int tab) {
+        return headers.get(tab).lengthInBytes();
+    }
+
+    /**
+     * Get the number of items in the tab from the item list header, without parsing the items.
+     * @param tab the index of the tab, starting at 0
+     * @return the number of items in the tab, not counting the items socketed into them
+     * @throws ParseException in case the item list header is missing
+     */
+    public int itemCount(final int tab) {
+        return ItemParser.itemCount(buffer, tabIndices.get(tab) + 64);
+    }
+
+    /**
+     * Get the items of the tab, parsing them on the first call.
+     * @param tab the index of the tab, starting at 0
+     * @return the items in the tab
+     * @throws ParseException in case there was an issue parsing the items
+     */
+    public List<Item> items(final int tab) {
+        List<Item> tabItems = items.get(tab);
+        if (tabItems == null) {
+            tabItems = itemCursor(tab).stream().toList();
+            // another thread may have parsed the same tab in the meantime, they are equal so keep the first one
+            if (!items.compareAndSet(tab, null, tabItems)) {
+                tabItems = items.get(tab);
+            }
+        }
+        return tabItems;
+    }
+
+    /**
+     * Stream the items of the tab, parsing them one by one as they are requested. The items aren't kept by the view, so this is
+     * suited to search through a tab with constant memory.
+     * @param tab the index of the tab, starting at 0
+     * @return a new {@link ItemCursor} at the first item of the tab
+     * @throws ParseException in case the item list header is missing
+     */
+    public ItemCursor itemCursor(final int tab) {
+        return tabItemCursor.create(tabIndices.get(tab), buffer, headers.get(tab));
+    }
+
+    /**
+     * Get the complete tab, parsing its items on the first call.
+     * @param tab the index of the tab, starting at 0
+     * @return the {@link SharedStashTab} including its items
+     * @throws ParseException in case there was an issue parsing the items
+     */
+    public SharedStashTab tab(final int tab) {
+        final SharedStashTab header = headers.get(tab);
+        return new SharedStashTab.SharedStashTabBuilder()
+                .version(header.version())
+                .gold(header.gold())
+                .lengthInBytes(header.lengthInBytes())
+                .items(items(tab))
+                .build();
+    }
+}
@@ -19,6 +19,10 @@ package io.github.paladijn.d2rsavegameparser.txt;
 
 import io.github.paladijn.d2rsavegameparser.internal.parser.ParseHelper;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Representation of an item from the armor.txt resource file.
  *
@@ -63,6 +67,37 @@ public final class ArmorStats {
         questDiffCheck = false; // "1".equals(blocks[64]); // this is currently always false, but in case we get an expansion with armour quest items it'll work out of the box.
     }
 
+    /**
+     * Constructor which reads an item back from the txt snapshot, in the order written by {@link #write(DataOutput)}.
+     * @param in the snapshot data, positioned at this item
+     * @throws IOException in case the snapshot data could not be read
+     */
+    ArmorStats(final DataInput in) throws IOException {
+        name = in.readUTF();
+        type = in.readUTF();
+        type2 = in.readUTF();
+        code = in.readUTF();
+        reqStr = in.readShort();
+        reqDex = in.readShort();
+        reqLvl = in.readShort();
+        invWidth = in.readByte();
+        invHeight = in.readByte();
+        questDiffCheck = in.readBoolean();
+    }
+
+    void write(final DataOutput out) throws IOException {
+        out.writeUTF(name);
+        out.writeUTF(type);
+        out.writeUTF(type2);
+        out.writeUTF(code);
+        out.writeShort(reqStr);
+        out.writeShort(reqDex);
+        out.writeShort(reqLvl);
+        out.writeByte(invWidth);
+        out.writeByte(invHeight);
+        out.writeBoolean(questDiffCheck);
+    }
+
     /**
      * Get the code of the armor.
      *
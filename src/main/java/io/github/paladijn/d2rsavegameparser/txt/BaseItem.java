@@ -0,0 +1,35 @@
+/*
+ * Copyright (C) 2026   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.txt;
+
+import io.github.paladijn.d2rsavegameparser.model.ItemType;
+
+/**
+ * A base item from either weapons.txt, armor.txt or misc.txt, combined so an item code can be resolved with a single lookup.
+ * Only the stats matching the {@link ItemType} are filled, the other two are null.
+ *
+ * @param code the item code, this is the same String instance as used by the stats
+ * @param itemType the type of base item, which determines which of the stats is available
+ * @param armorStats the {@link ArmorStats} in case of {@link ItemType#ARMOR}
+ * @param weaponStats the {@link WeaponStats} in case of {@link ItemType#WEAPON}
+ * @param miscStats the {@link MiscStats} in case of {@link ItemType#MISC}
+ *
+ * @author Paladijn
+ */
+public record BaseItem(String code, ItemType itemType, ArmorStats armorStats, WeaponStats weaponStats, MiscStats miscStats) {
+}
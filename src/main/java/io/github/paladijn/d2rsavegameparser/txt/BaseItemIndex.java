@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2026   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.txt;
+
+import io.github.paladijn.d2rsavegameparser.internal.parser.ParseHelper;
+
+import java.util.Collection;
+
+/**
+ * Open addressing table of {@link BaseItem}s keyed on the packed item code (see {@link ParseHelper#packItemCode(String)}).
+ * The table is kept at most half full, so a lookup usually resolves with a single probe and without boxing the key.
+ */
+final class BaseItemIndex {
+    private final int[] keys;
+    private final BaseItem[] values;
+    private final int mask;
+
+    BaseItemIndex(Collection<BaseItem> baseItems) {
+        int capacity = 16;
+        while (capacity < baseItems.size() * 2) {
+            capacity <<= 1;
+        }
+        keys = new int[capacity];
+        values = new BaseItem[capacity];
+        mask = capacity - 1;
+
+        for (BaseItem baseItem : baseItems) {
+            final int key = ParseHelper.packItemCode(baseItem.code());
+            if (key == 0) {
+                continue; // an empty code can't be read from a savegame, and 0 marks an empty slot
+            }
+            int slot = slot(key);
+            while (keys[slot] != 0 && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] == 0) { // the first one wins in case a code is listed twice
+                keys[slot] = key;
+                values[slot] = baseItem;
+            }
+        }
+    }
+
+    BaseItem get(int packedCode) {
+        int slot = slot(packedCode);
+        while (keys[slot] != 0) {
+            if (keys[slot] == packedCode) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    private int slot(int key) {
+        final int hash = key * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
@@ -19,6 +19,9 @@ package io.github.paladijn.d2rsavegameparser.txt;
 
 import io.github.paladijn.d2rsavegameparser.model.ItemProperty;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -79,6 +82,30 @@ public final class GemAndRuneStats {
         allProperties.addAll(armorProperties);
     }
 
+    /**
+     * Constructor which reads a gem or rune back from the txt snapshot, in the order written by {@link #write(DataOutput)}.
+     * The properties are stored already resolved, so this doesn't need the itemstatcost and properties tables.
+     * @param in the snapshot data, positioned at this gem or rune
+     * @throws IOException in case the snapshot data could not be read
+     */
+    GemAndRuneStats(final DataInput in) throws IOException {
+        code = in.readUTF();
+        weaponProperties.addAll(TXTSnapshot.readItemProperties(in));
+        helmProperties.addAll(TXTSnapshot.readItemProperties(in));
+        armorProperties.addAll(TXTSnapshot.readItemProperties(in));
+
+        allProperties.addAll(weaponProperties);
+        allProperties.addAll(helmProperties);
+        allProperties.addAll(armorProperties);
+    }
+
+    void write(final DataOutput out) throws IOException {
+        out.writeUTF(code);
+        TXTSnapshot.writeItemProperties(out, weaponProperties);
+        TXTSnapshot.writeItemProperties(out, helmProperties);
+        TXTSnapshot.writeItemProperties(out, armorProperties);
+    }
+
     /**
      * Get the code of the gem or rune.
      *
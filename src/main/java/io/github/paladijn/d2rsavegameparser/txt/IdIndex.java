@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2026   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.txt;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Immutable table of txt entries indexed by their (small and dense) id, so a lookup is a bounds check and an array access
+ * instead of boxing the id for a map. When several entries share an id, the last one wins.
+ *
+ * @param <T> the type of the entries
+ * @author Paladijn
+ */
+final class IdIndex<T> {
+    private final Object[] entriesById;
+
+    private final List<T> values;
+
+    IdIndex(final List<T> entries, final ToIntFunction<T> idMapper) {
+        int maxId = -1;
+        for (T entry : entries) {
+            maxId = Math.max(maxId, idMapper.applyAsInt(entry));
+        }
+        entriesById = new Object[maxId + 1];
+        for (T entry : entries) {
+            final int id = idMapper.applyAsInt(entry);
+            if (id < 0) {
+                throw new IllegalArgumentException("negative id %d for %s".formatted(id, entry));
+            }
+            entriesById[id] = entry;
+        }
+
+        final List<T> valuesInIdOrder = new ArrayList<>(entries.size());
+        for (Object entry : entriesById) {
+            if (entry != null) {
+                valuesInIdOrder.add(cast(entry));
+            }
+        }
+        values = Collections.unmodifiableList(valuesInIdOrder);
+    }
+
+    /**
+     * @param id the id to look up
+     * @return the entry with this id, or null if there is none
+     */
+    T get(final int id) {
+        return id >= 0 && id < entriesById.length ? cast(entriesById[id]) : null;
+    }
+
+    /**
+     * @return all entries, ordered by id
+     */
+    List<T> values() {
+        return values;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T cast(final Object entry) {
+        return (T) entry;
+    }
+}
@@ -19,6 +19,10 @@ package io.github.paladijn.d2rsavegameparser.txt;
 
 import io.github.paladijn.d2rsavegameparser.model.ItemProperty;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Representation of itemstatcost.txt which is used to retrieve the values of {@link ItemProperty} from a savegame file.
  *
@@ -30,6 +34,7 @@ public final class ItemStatCost {
     private int saveBits;
     private int saveAdd;
     private int saveParamBits;
+    private int encode;
     private int descPriority;
     private String descStrPos;
 
@@ -48,6 +53,7 @@ public final class ItemStatCost {
                 saveAdd = 0;
             }
             saveParamBits = getInt(blocks[22]);
+            encode = getInt(blocks[14]);
             descPriority = getInt(blocks[37]);
             descStrPos = blocks[40];
             // fix maxdurability
@@ -57,6 +63,33 @@ public final class ItemStatCost {
         }
     }
 
+    /**
+     * Constructor which reads a stat back from the txt snapshot, in the order written by {@link #write(DataOutput)}.
+     * @param in the snapshot data, positioned at this stat
+     * @throws IOException in case the snapshot data could not be read
+     */
+    ItemStatCost(final DataInput in) throws IOException {
+        stat = TXTSnapshot.readNullableString(in);
+        id = in.readInt();
+        saveBits = in.readInt();
+        saveAdd = in.readInt();
+        saveParamBits = in.readInt();
+        encode = in.readInt();
+        descPriority = in.readInt();
+        descStrPos = TXTSnapshot.readNullableString(in);
+    }
+
+    void write(final DataOutput out) throws IOException {
+        TXTSnapshot.writeNullableString(out, stat);
+        out.writeInt(id);
+        out.writeInt(saveBits);
+        out.writeInt(saveAdd);
+        out.writeInt(saveParamBits);
+        out.writeInt(encode);
+        out.writeInt(descPriority);
+        TXTSnapshot.writeNullableString(out, descStrPos);
+    }
+
     /**
      * ItemStatCost id
      * @return The numerical id of the ItemStatCost field
@@ -97,6 +130,15 @@ public final class ItemStatCost {
         return saveParamBits;
     }
 
+    /**
+     * How the param and value of the itemStat are encoded, e.g. 2 for skills that trigger on an event (level, skill and chance)
+     * and 3 for charged skills (level, skill, charges and max charges)
+     * @return the encoding, or -1 if it's not set
+     */
+    public int getEncode() {
+        return encode;
+    }
+
     /**
      * Sort order, higher is sorted on top
      * @return a number indicating the sort order
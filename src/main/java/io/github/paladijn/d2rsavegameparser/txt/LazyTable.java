@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2026   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.txt;
+
+import java.util.function.Supplier;
+
+/**
+ * A table from the txt files which is only loaded on first access. Loading happens at most once, also when several threads
+ * need the table at the same time. In case loading fails the exception is passed on and the next access tries again.
+ *
+ * @param <T> the type of the (immutable) table
+ * @author Paladijn
+ */
+final class LazyTable<T> {
+    private final Supplier<T> loader;
+
+    private volatile T table;
+
+    LazyTable(final Supplier<T> loader) {
+        this.loader = loader;
+    }
+
+    T get() {
+        T result = table;
+        if (result == null) {
+            synchronized (this) {
+                result = table;
+                if (result == null) {
+                    result = loader.get();
+                    table = result;
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -20,6 +20,10 @@ package io.github.paladijn.d2rsavegameparser.txt;
 import io.github.paladijn.d2rsavegameparser.internal.parser.ParseHelper;
 import io.github.paladijn.d2rsavegameparser.model.CharacterType;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Representation of the magical prefixes and suffixes from magicprefix.txt and magicsuffix.txt.
  *
@@ -57,6 +61,28 @@ public final class MagicAffix {
         }
     }
 
+    /**
+     * Constructor which reads an affix back from the txt snapshot, in the order written by {@link #write(DataOutput)}.
+     * @param in the snapshot data, positioned at this affix
+     * @throws IOException in case the snapshot data could not be read
+     */
+    MagicAffix(final DataInput in) throws IOException {
+        index = in.readShort();
+        name = in.readUTF();
+        reqLvl = in.readShort();
+        final String characterType = TXTSnapshot.readNullableString(in);
+        if (characterType != null) {
+            restrictedToClass = CharacterType.valueOf(characterType);
+        }
+    }
+
+    void write(final DataOutput out) throws IOException {
+        out.writeShort(index);
+        out.writeUTF(name);
+        out.writeShort(reqLvl);
+        TXTSnapshot.writeNullableString(out, restrictedToClass == null ? null : restrictedToClass.name());
+    }
+
     /**
      * Get the index value of the affix.
      * @return the index value of the affix
@@ -21,6 +21,10 @@ import io.github.paladijn.d2rsavegameparser.internal.parser.ParseHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Representation of stats from the misc.txt resource file.
  *
@@ -84,6 +88,43 @@ public final class MiscStats {
         advancedStashStackable = blocks.length > 170 && blocks[170].equals("1");
     }
 
+    /**
+     * Constructor which reads an item back from the txt snapshot, in the order written by {@link #write(DataOutput)}.
+     * @param in the snapshot data, positioned at this item
+     * @throws IOException in case the snapshot data could not be read
+     */
+    MiscStats(final DataInput in) throws IOException {
+        name = in.readUTF();
+        type = in.readUTF();
+        type2 = in.readUTF();
+        code = in.readUTF();
+        isStackable = in.readBoolean();
+        reqStr = in.readShort();
+        reqDex = in.readShort();
+        reqLvl = in.readShort();
+        invWidth = in.readByte();
+        invHeight = in.readByte();
+        maxStacks = in.readShort();
+        questDiffCheck = in.readBoolean();
+        advancedStashStackable = in.readBoolean();
+    }
+
+    void write(final DataOutput out) throws IOException {
+        out.writeUTF(name);
+        out.writeUTF(type);
+        out.writeUTF(type2);
+        out.writeUTF(code);
+        out.writeBoolean(isStackable);
+        out.writeShort(reqStr);
+        out.writeShort(reqDex);
+        out.writeShort(reqLvl);
+        out.writeByte(invWidth);
+        out.writeByte(invHeight);
+        out.writeShort(maxStacks);
+        out.writeBoolean(questDiffCheck);
+        out.writeBoolean(advancedStashStackable);
+    }
+
     /**
      * Gets the code of the item.
      *
@@ -19,6 +19,9 @@ package io.github.paladijn.d2rsavegameparser.txt;
 
 import org.slf4j.Logger;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -80,6 +83,50 @@ public final class Runeword {
         }
     }
 
+    /**
+     * Constructor which reads a runeword back from the txt snapshot, in the order written by {@link #write(DataOutput)}.
+     * @param in the snapshot data, positioned at this runeword
+     * @throws IOException in case the snapshot data could not be read
+     */
+    Runeword(final DataInput in) throws IOException {
+        active = in.readBoolean();
+        if (!active) {
+            return;
+        }
+        id = in.readInt();
+        name = in.readUTF();
+        patch = in.readUTF();
+        final int numberOfTypes = in.readUnsignedByte();
+        for (int i = 0; i < numberOfTypes; i++) {
+            supportedTypes.add(in.readUTF());
+        }
+        runeString = in.readUTF();
+        final int numberOfRunes = in.readUnsignedByte();
+        for (int i = 0; i < numberOfRunes; i++) {
+            runes.put(in.readUTF(), in.readUnsignedByte());
+        }
+    }
+
+    void write(final DataOutput out) throws IOException {
+        out.writeBoolean(active);
+        if (!active) {
+            return;
+        }
+        out.writeInt(id);
+        out.writeUTF(name);
+        out.writeUTF(patch);
+        out.writeByte(supportedTypes.size());
+        for (String supportedType : supportedTypes) {
+            out.writeUTF(supportedType);
+        }
+        out.writeUTF(runeString);
+        out.writeByte(runes.size());
+        for (Map.Entry<String, Integer> rune : runes.entrySet()) {
+            out.writeUTF(rune.getKey());
+            out.writeByte(rune.getValue());
+        }
+    }
+
     /**
      * Verify this is a valid runeword combination
      * @param runes the runes in the order they were inserted into the item (without any separator)
@@ -129,4 +176,18 @@ public final class Runeword {
     public boolean isActive() {
         return active;
     }
+
+    /**
+     * @return the names of the runes without " Rune" in socket order, e.g. "TalEthTir", or null if the runeword isn't active
+     */
+    String getRuneString() {
+        return runeString;
+    }
+
+    /**
+     * @return the number of each rune code needed for this runeword, e.g. r08 -&gt; 1 for Tal, or an empty map if the runeword isn't active
+     */
+    Map<String, Integer> getRunes() {
+        return runes;
+    }
 }
@@ -0,0 +1,204 @@
+/*
+ * Copyright (C) 2026   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.txt;
+
+import io.github.paladijn.d2rsavegameparser.model.Item;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checks which runewords can be made from a rune inventory. Inventories are encoded as count vectors of {@link #RUNE_COUNT} entries
+ * indexed by rune ordinal (El = r01 = 0 up to Zod = r33 = 32) and every active runeword's requirements are precomputed into the same
+ * form, so a check is a loop over a few ints instead of a map lookup per rune.
+ *
+ * @author Paladijn
+ */
+public final class RunewordFeasibility {
+    /**
+     * The number of runes in the game, El (r01) up to and including Zod (r33).
+     */
+    public static final int RUNE_COUNT = 33;
+
+    private final List<Runeword> runewords;
+    private final int[][] requirements;
+
+    /**
+     * Precompute the requirements of all active runewords known to the supplied {@link TXTProperties}.
+     * @param txtProperties the txt data to take the runewords from
+     */
+    public RunewordFeasibility(final TXTProperties txtProperties) {
+        this(txtProperties.getRunewords());
+    }
+
+    RunewordFeasibility(final List<Runeword> allRunewords) {
+        final List<Runeword> active = new ArrayList<>();
+        final List<int[]> vectors = new ArrayList<>();
+        for (Runeword runeword : allRunewords) {
+            if (!runeword.isActive()) {
+                continue;
+            }
+            final int[] vector = new int[RUNE_COUNT];
+            for (Map.Entry<String, Integer> rune : runeword.getRunes().entrySet()) {
+                final int ordinal = runeOrdinal(rune.getKey());
+                if (ordinal < 0) {
+                    throw new IllegalArgumentException("runeword %s requires unknown rune %s".formatted(runeword.getName(), rune.getKey()));
+                }
+                vector[ordinal] += rune.getValue();
+            }
+            active.add(runeword);
+            vectors.add(vector);
+        }
+        runewords = List.copyOf(active);
+        requirements = vectors.toArray(new int[0][]);
+    }
+
+    /**
+     * Get the ordinal of a rune code in the count vectors.
+     * @param code the item code of the rune, e.g. r08 for Tal
+     * @return the ordinal, 0 for El up to 32 for Zod, or -1 if the code isn't a rune
+     */
+    public static int runeOrdinal(final String code) {
+        if (code == null || code.length() != 3 || code.charAt(0) != 'r') {
+            return -1;
+        }
+        final int tens = code.charAt(1) - '0';
+        final int units = code.charAt(2) - '0';
+        if (tens < 0 || tens > 9 || units < 0 || units > 9) {
+            return -1;
+        }
+        final int number = tens * 10 + units;
+        return number >= 1 && number <= RUNE_COUNT ? number - 1 : -1;
+    }
+
+    /**
+     * Count the runes in any number of item lists, for example the items of all characters and shared stash tabs of an account.
+     * Only the top-level items are counted, runes that are socketed into an item are no longer available.
+     * @param itemLists the item lists to count the runes of
+     * @return a new count vector of {@link #RUNE_COUNT} entries indexed by rune ordinal
+     */
+    public static int[] countRunes(final Collection<? extends Collection<Item>> itemLists) {
+        final int[] counts = new int[RUNE_COUNT];
+        for (Collection<Item> items : itemLists) {
+            for (Item item : items) {
+                if (Item.isRune(item.type())) {
+                    final int ordinal = runeOrdinal(item.code());
+                    if (ordinal >= 0) {
+                        // stacked runes carry their quantity, a single rune has no stack count
+                        counts[ordinal] += Math.max(1, item.stacks());
+                    }
+                }
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * List every runeword that can be made from the supplied runes, together with how many times it can be made when only that
+     * runeword is crafted.
+     * @param runeCounts a count vector as created by {@link #countRunes(Collection)}
+     * @return an unmodifiable list of the craftable runewords in txt order
+     */
+    public List<Craftable> craftable(final int[] runeCounts) {
+        checkLength(runeCounts);
+        final List<Craftable> result = new ArrayList<>();
+        for (int i = 0; i < requirements.length; i++) {
+            final int times = timesCraftable(requirements[i], runeCounts);
+            if (times > 0) {
+                result.add(new Craftable(runewords.get(i), times));
+            }
+        }
+        return List.copyOf(result);
+    }
+
+    /**
+     * List the runewords that can't be made yet and need the fewest extra runes, for example to suggest which runes to look out for.
+     * @param runeCounts a count vector as created by {@link #countRunes(Collection)}
+     * @param limit the maximum number of runewords to return
+     * @return an unmodifiable list of the runewords that aren't craftable yet, ordered by the number of runes missing and then by
+     * txt order
+     * @throws IllegalArgumentException in case the limit is negative or the count vector doesn't have an entry for every rune
+     */
+    public List<MissingRunes> closestMissing(final int[] runeCounts, final int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must not be negative, got %d".formatted(limit));
+        }
+        checkLength(runeCounts);
+        final List<MissingRunes> result = new ArrayList<>();
+        for (int i = 0; i < requirements.length; i++) {
+            final int[] required = requirements[i];
+            int totalMissing = 0;
+            for (int ordinal = 0; ordinal < RUNE_COUNT; ordinal++) {
+                totalMissing += Math.max(0, required[ordinal] - runeCounts[ordinal]);
+            }
+            if (totalMissing == 0) {
+                continue;
+            }
+            final Map<String, Integer> missing = new LinkedHashMap<>();
+            for (int ordinal = 0; ordinal < RUNE_COUNT; ordinal++) {
+                if (required[ordinal] > runeCounts[ordinal]) {
+                    missing.put("r%02d".formatted(ordinal + 1), required[ordinal] - runeCounts[ordinal]);
+                }
+            }
+            result.add(new MissingRunes(runewords.get(i), totalMissing, missing));
+        }
+        result.sort(Comparator.comparingInt(MissingRunes::totalMissing));
+        return List.copyOf(result.subList(0, Math.min(limit, result.size())));
+    }
+
+    private static int timesCraftable(final int[] required, final int[] runeCounts) {
+        int times = Integer.MAX_VALUE;
+        for (int ordinal = 0; ordinal < RUNE_COUNT; ordinal++) {
+            if (required[ordinal] != 0) {
+                times = Math.min(times, runeCounts[ordinal] / required[ordinal]);
+            }
+        }
+        return times;
+    }
+
+    private static void checkLength(final int[] runeCounts) {
+        if (runeCounts.length != RUNE_COUNT) {
+            throw new IllegalArgumentException("expected %d rune counts, got %d".formatted(RUNE_COUNT, runeCounts.length));
+        }
+    }
+
+    /**
+     * A runeword that can be made from the available runes.
+     * @param runeword the {@link Runeword}
+     * @param times how many times it can be made
+     */
+    public record Craftable(Runeword runeword, int times) {
+    }
+
+    /**
+     * A runeword that can't be made yet.
+     * @param runeword the {@link Runeword}
+     * @param totalMissing the total number of runes missing
+     * @param missing the number missing per rune code, e.g. r08 -&gt; 1
+     */
+    public record MissingRunes(Runeword runeword, int totalMissing, Map<String, Integer> missing) {
+        public MissingRunes {
+            missing = Collections.unmodifiableMap(new LinkedHashMap<>(missing));
+        }
+    }
+}
@@ -19,6 +19,9 @@ package io.github.paladijn.d2rsavegameparser.txt;
 
 import io.github.paladijn.d2rsavegameparser.model.ItemProperty;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -74,6 +77,34 @@ public final class SetData {
         }
     }
 
+    /**
+     * Constructor which reads a set back from the txt snapshot, in the order written by {@link #write(DataOutput)}.
+     * The bonuses are stored already resolved, so this doesn't need the itemstatcost and properties tables.
+     * @param in the snapshot data, positioned at this set
+     * @throws IOException in case the snapshot data could not be read
+     */
+    SetData(final DataInput in) throws IOException {
+        name = in.readUTF();
+        final int numberOfItems = in.readUnsignedShort();
+        final List<Short> ids = new ArrayList<>(numberOfItems);
+        for (int i = 0; i < numberOfItems; i++) {
+            ids.add(in.readShort());
+        }
+        itemIDs = List.copyOf(ids);
+        partialBonuses.addAll(TXTSnapshot.readItemProperties(in));
+        fullBonuses.addAll(TXTSnapshot.readItemProperties(in));
+    }
+
+    void write(final DataOutput out) throws IOException {
+        out.writeUTF(name);
+        out.writeShort(itemIDs.size());
+        for (short id : itemIDs) {
+            out.writeShort(id);
+        }
+        TXTSnapshot.writeItemProperties(out, partialBonuses);
+        TXTSnapshot.writeItemProperties(out, fullBonuses);
+    }
+
     /**
      * Get the name of this Set.
      * @return the name of this Set
@@ -17,6 +17,10 @@
  */
 package io.github.paladijn.d2rsavegameparser.txt;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Representation of a set item from the setitems.txt resource file.
  *
@@ -46,6 +50,31 @@ public final class SetItem {
         itemName = blocks[10];
     }
 
+    /**
+     * Constructor which reads a set item back from the txt snapshot, in the order written by {@link #write(DataOutput)}.
+     * @param in the snapshot data, positioned at this set item
+     * @throws IOException in case the snapshot data could not be read
+     */
+    SetItem(final DataInput in) throws IOException {
+        name = in.readUTF();
+        id = in.readShort();
+        setName = in.readUTF();
+        spawnable = in.readBoolean();
+        disableChronicle = in.readBoolean();
+        code = in.readUTF();
+        itemName = in.readUTF();
+    }
+
+    void write(final DataOutput out) throws IOException {
+        out.writeUTF(name);
+        out.writeShort(id);
+        out.writeUTF(setName);
+        out.writeBoolean(spawnable);
+        out.writeBoolean(disableChronicle);
+        out.writeUTF(code);
+        out.writeUTF(itemName);
+    }
+
     /**
      * Get the name of the set item.
      * @return the name of the set item
@@ -19,19 +19,30 @@ package io.github.paladijn.d2rsavegameparser.txt;
 
 import io.github.paladijn.d2rsavegameparser.internal.parser.ParseHelper;
 import io.github.paladijn.d2rsavegameparser.model.ItemProperty;
+import io.github.paladijn.d2rsavegameparser.model.ItemType;
 import io.github.paladijn.d2rsavegameparser.parser.ParseException;
+import io.github.paladijn.d2rsavegameparser.txt.TXTSnapshot.Table;
 import org.slf4j.Logger;
 
 import java.io.BufferedReader;
-import java.io.FileInputStream;
+import java.io.DataInput;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -40,72 +51,230 @@ import static org.slf4j.LoggerFactory.getLogger;
  * or speeding up load times with the -direct -txt parameters, but in our case are used to map the values in the savegame
  * to more meaningful names as well as combining types.
  * <p>
- * The data is parsed the first time {@link #getInstance()} is called and cached from that point on.
+ * Each table is loaded the first time it's needed and cached from that point on, all or some of them can be loaded up front
+ * with {@link #preload()} and {@link #preload(TXTTable...)}.
+ * By default, the txt files bundled with the library are used, which are loaded from a precompiled {@link TXTSnapshot}. A
+ * different {@link TXTSource}, for example a directory with modded files, can be set with {@link #useSource(TXTSource)}.
+ * Initialisation happens exactly once, even when many threads ask for the instance at the same time, and all tables are
+ * immutable after that, so the instance can be shared between threads without any locking.
  *
  * @author Paladijn
  */
 public final class TXTProperties {
     private static final Logger log = getLogger(TXTProperties.class);
 
-    private static TXTProperties INSTANCE;
+    private final LazyTable<Map<String, String>> genericPropertiesByCode;
 
-    private final HashMap<String, String> genericPropertiesByCode = new HashMap<>();
+    private final LazyTable<Map<String, WeaponStats>> weaponsByCode;
+    private final LazyTable<Map<String, ArmorStats>> armorsByCode;
+    private final LazyTable<Map<String, MiscStats>> miscItemsByCode;
+    private final LazyTable<BaseItemIndex> baseItemsByCode;
 
-    private final HashMap<String, WeaponStats> weaponsByCode = new HashMap<>();
-    private final HashMap<String, ArmorStats> armorsByCode = new HashMap<>();
-    private final HashMap<String, MiscStats> miscItemsByCode = new HashMap<>();
+    private final LazyTable<Map<String, GemAndRuneStats>> gemsAndRunes;
 
-    private final HashMap<String, GemAndRuneStats> gemsAndRunes = new HashMap<>();
+    private final LazyTable<IdIndex<UniqueItem>> uniqueItemById;
+    private final LazyTable<List<SetItem>> setItemList;
+    private final LazyTable<IdIndex<SetItem>> setItems;
+    private final LazyTable<Map<String, List<Short>>> setIDs;
+    private final LazyTable<Map<String, SetData>> setData;
+    private final LazyTable<List<ItemStatCost>> itemStatCostList;
+    private final LazyTable<IdIndex<ItemStatCost>> itemStatcosts;
+    private final LazyTable<Map<String, ItemStatCost>> itemStatcostsByCode;
 
-    private final HashMap<Short, UniqueItem> uniqueItemById = new HashMap<>();
-    private final HashMap<Short, SetItem> setItems = new HashMap<>();
-    private final HashMap<String, List<Short>> setIDs = new HashMap<>();
-    private final HashMap<String, SetData> setData = new HashMap<>();
-    private final HashMap<Integer, ItemStatCost> itemStatcosts = new HashMap<>();
-    private final HashMap<String, ItemStatCost> itemStatcostsByCode = new HashMap<>();
+    private final LazyTable<List<Runeword>> runewords;
+    private final LazyTable<Map<String, Runeword>> runewordsByRunes;
 
-    private final List<Runeword> runewords = new ArrayList<>();
+    private final LazyTable<List<String>> rarePrefixes;
 
-    private final List<String> rarePrefixes = new ArrayList<>();
+    private final LazyTable<List<String>> rareSuffixes;
 
-    private final List<String> rareSuffixes = new ArrayList<>();
+    private final LazyTable<List<MagicAffix>> magicPrefixes;
 
-    private final List<MagicAffix> magicPrefixes = new ArrayList<>();
+    private final LazyTable<List<MagicAffix>> magicSuffixes;
 
-    private final List<MagicAffix> magicSuffixes = new ArrayList<>();
+    private final LazyTable<Map<String, Integer>> treasureClassByItem;
+    private final LazyTable<Map<String, Integer>> treasureClassByCode;
 
-    private final HashMap<String, Integer> treasureClassByItem = new HashMap<>();
-    private final HashMap<String, Integer> treasureClassByCode = new HashMap<>();
+    private static volatile TXTProperties instance;
+
+    private static TXTSource source = TXTSource.classpath();
 
     /**
      * Retrieve the singleton instance of the txt file properties so they're only read once.
+     * <p>
+     * This doesn't load any table yet: each one is loaded on the calling thread when it's first used. To load the tables in
+     * parallel, call {@link #preload()} instead, which makes the biggest difference when the txt files are parsed rather than
+     * read from the snapshot.
      *
      * @return the instance of {@link TXTProperties}.
+     * @throws ParseException in case one of the txt files could not be parsed
      */
     public static TXTProperties getInstance() {
-        if (INSTANCE == null) {
-            INSTANCE = new TXTProperties();
+        TXTProperties result = instance;
+        if (result == null) {
+            synchronized (TXTProperties.class) {
+                result = instance;
+                if (result == null) {
+                    result = new TXTProperties(source, source.isBundled() ? TXTSnapshot.load() : null);
+                    instance = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Load all txt files up front, for example during the startup of a service, so the first parse request doesn't have to
+     * wait for it. The tables are loaded in parallel. Tables which have already been loaded are not loaded again.
+     * <p>
+     * This is the only way the tables are loaded in parallel, without it each table is loaded serially on first use.
+     *
+     * @throws ParseException in case one of the txt files could not be parsed
+     */
+    public static void preload() {
+        preload(TXTTable.values());
+    }
+
+    /**
+     * Load a subset of the txt files up front, for example when a tool only needs the runewords. All other tables are still
+     * loaded on first use. The tables are loaded in parallel. Tables which have already been loaded are not loaded again.
+     *
+     * @param tables the {@link TXTTable}s to load
+     * @throws ParseException in case one of the txt files could not be parsed
+     */
+    public static void preload(final TXTTable... tables) {
+        getInstance().load(tables);
+    }
+
+    /**
+     * Set the location to read the txt files from, for example a directory with modded files. By default, the files bundled
+     * with the library are used. This has to be called before the first call to {@link #getInstance()} or {@link #preload()}.
+     *
+     * @param txtSource the {@link TXTSource} to read the txt files from
+     * @throws IllegalStateException in case the txt files have already been loaded
+     */
+    public static void useSource(final TXTSource txtSource) {
+        Objects.requireNonNull(txtSource, "txtSource");
+        synchronized (TXTProperties.class) {
+            if (instance != null) {
+                throw new IllegalStateException("The txt files have already been loaded from %s".formatted(source));
+            }
+            source = txtSource;
         }
-        return INSTANCE;
-    }
-
-    private TXTProperties() {
-        parseProperties();
-        parseItemStatCost();
-        parseRunewords();
-        parseSetItems();
-        parseSets();
-        parseWeapons();
-        parseArmor();
-        parseMisc();
-        parseGems();
-        parseUniqueItems();
-        parseRarePrefix();
-        parseRareSuffix();
-        parseMagicPrefix();
-        parseMagicSuffix();
-        parseTreasureClass();
-        parseTreasureClassByCode();
+    }
+
+    /**
+     * Load the tables from the precompiled snapshot, or parse the txt files when no snapshot is available.
+     *
+     * @param source the {@link TXTSource} to read the txt files from
+     * @param snapshot the {@link TXTSnapshot} to load the tables from, or null to parse the txt files
+     */
+    TXTProperties(final TXTSource source, final TXTSnapshot snapshot) {
+        // Each table is only loaded when it's first needed. The bonuses of sets, gems and runes are resolved through
+        // properties.txt and itemstatcost.txt while parsing, so those tables are loaded first when there's no snapshot.
+        genericPropertiesByCode = new LazyTable<>(() -> snapshot == null ? parseProperties(source) : snapshot.readStringMap(Table.PROPERTIES));
+        itemStatCostList = new LazyTable<>(() -> snapshot == null ? parseItemStatCost(source) : snapshot.readList(Table.ITEM_STAT_COST, ItemStatCost::new));
+        itemStatcosts = new LazyTable<>(() -> new IdIndex<>(itemStatCostList.get(), ItemStatCost::getId));
+        itemStatcostsByCode = new LazyTable<>(() -> index(itemStatCostList.get(), ItemStatCost::getStat));
+        runewords = new LazyTable<>(() -> snapshot == null ? parseRunewords(source) : snapshot.readList(Table.RUNEWORDS, Runeword::new));
+        runewordsByRunes = new LazyTable<>(() -> indexRunewords(runewords.get()));
+        setItemList = new LazyTable<>(() -> snapshot == null ? parseSetItems(source) : snapshot.readList(Table.SET_ITEMS, SetItem::new));
+        setItems = new LazyTable<>(() -> new IdIndex<>(setItemList.get(), SetItem::getId));
+        setIDs = new LazyTable<>(() -> snapshot == null ? groupSetIDs(setItemList.get()) : snapshot.readShortListMap(Table.SET_IDS));
+        setData = new LazyTable<>(() -> snapshot == null
+                ? parseSets(source, setIDs.get(), new ItemStatCostAndProperties(itemStatcostsByCode.get(), genericPropertiesByCode.get()))
+                : snapshot.readMap(Table.SETS, SetData::new, SetData::getName));
+        weaponsByCode = new LazyTable<>(() -> snapshot == null ? parseWeapons(source) : snapshot.readMap(Table.WEAPONS, WeaponStats::new, WeaponStats::getCode));
+        armorsByCode = new LazyTable<>(() -> snapshot == null ? parseArmor(source) : snapshot.readMap(Table.ARMOR, ArmorStats::new, ArmorStats::getCode));
+        miscItemsByCode = new LazyTable<>(() -> snapshot == null ? parseMisc(source) : snapshot.readMap(Table.MISC, MiscStats::new, MiscStats::getCode));
+        baseItemsByCode = new LazyTable<>(() -> indexBaseItems(armorsByCode.get(), weaponsByCode.get(), miscItemsByCode.get()));
+        gemsAndRunes = new LazyTable<>(() -> snapshot == null
+                ? parseGems(source, new ItemStatCostAndProperties(itemStatcostsByCode.get(), genericPropertiesByCode.get()))
+                : snapshot.readMap(Table.GEMS_AND_RUNES, GemAndRuneStats::new, GemAndRuneStats::getCode));
+        uniqueItemById = new LazyTable<>(() -> new IdIndex<>(snapshot == null ? parseUniqueItems(source) : snapshot.readList(Table.UNIQUE_ITEMS, UniqueItem::new), UniqueItem::getId));
+        rarePrefixes = new LazyTable<>(() -> snapshot == null ? parseRareNames(source, "rareprefix.txt") : snapshot.readList(Table.RARE_PREFIXES, DataInput::readUTF));
+        rareSuffixes = new LazyTable<>(() -> snapshot == null ? parseRareNames(source, "raresuffix.txt") : snapshot.readList(Table.RARE_SUFFIXES, DataInput::readUTF));
+        magicPrefixes = new LazyTable<>(() -> snapshot == null ? parseMagicAffixes(source, "magicprefix.txt") : snapshot.readList(Table.MAGIC_PREFIXES, MagicAffix::new));
+        magicSuffixes = new LazyTable<>(() -> snapshot == null ? parseMagicAffixes(source, "magicsuffix.txt") : snapshot.readList(Table.MAGIC_SUFFIXES, MagicAffix::new));
+        treasureClassByItem = new LazyTable<>(() -> snapshot == null ? parseTreasureClasses("tcbyitemname.txt") : snapshot.readIntMap(Table.TREASURE_CLASS_BY_ITEM));
+        treasureClassByCode = new LazyTable<>(() -> snapshot == null ? parseTreasureClasses("tcbyitemcode.txt") : snapshot.readIntMap(Table.TREASURE_CLASS_BY_CODE));
+    }
+
+    /**
+     * Load the requested tables in parallel, see {@link #preload(TXTTable...)}. Tables that depend on each other wait for the
+     * shared table to be loaded once, instead of loading it twice.
+     */
+    void load(final TXTTable... tables) {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            final List<CompletableFuture<?>> loading = new ArrayList<>();
+            for (TXTTable table : tables) {
+                for (LazyTable<?> lazyTable : lazyTables(table)) {
+                    loading.add(CompletableFuture.supplyAsync(lazyTable::get, executor));
+                }
+            }
+            loading.forEach(ParseHelper::join);
+        }
+    }
+
+    private List<LazyTable<?>> lazyTables(final TXTTable table) {
+        return switch (table) {
+            case BASE_ITEMS -> List.of(weaponsByCode, armorsByCode, miscItemsByCode, baseItemsByCode);
+            case ITEM_STAT_COST -> List.of(itemStatcosts, itemStatcostsByCode);
+            case UNIQUE_ITEMS -> List.of(uniqueItemById);
+            case SET_ITEMS -> List.of(setItems, setIDs);
+            case SETS -> List.of(setData);
+            case RUNEWORDS -> List.of(runewords, runewordsByRunes);
+            case GEMS_AND_RUNES -> List.of(gemsAndRunes);
+            case RARE_NAMES -> List.of(rarePrefixes, rareSuffixes);
+            case MAGIC_AFFIXES -> List.of(magicPrefixes, magicSuffixes);
+            case TREASURE_CLASSES -> List.of(treasureClassByItem, treasureClassByCode);
+        };
+    }
+
+    private static Map<String, Runeword> indexRunewords(final List<Runeword> runewords) {
+        final Map<String, Runeword> runewordsByRunes = new HashMap<>();
+        for (Runeword runeword : runewords) {
+            if (runeword.isActive()) {
+                runewordsByRunes.putIfAbsent(runeword.getRuneString(), runeword);
+            }
+        }
+        return Collections.unmodifiableMap(runewordsByRunes);
+    }
+
+    private static <K, V> Map<K, V> index(final List<V> values, final Function<V, K> keyMapper) {
+        final Map<K, V> indexed = new HashMap<>();
+        for (V value : values) {
+            indexed.put(keyMapper.apply(value), value);
+        }
+        return Collections.unmodifiableMap(indexed);
+    }
+
+    /**
+     * Write all tables of this instance as a {@link TXTSnapshot}.
+     *
+     * @param out the stream to write the snapshot to
+     * @throws IOException in case the snapshot could not be written
+     */
+    void writeSnapshot(final OutputStream out) throws IOException {
+        final Map<Table, TXTSnapshot.TableWriter> tables = new EnumMap<>(Table.class);
+        tables.put(Table.PROPERTIES, o -> TXTSnapshot.writeStringMap(o, genericPropertiesByCode.get()));
+        tables.put(Table.ITEM_STAT_COST, o -> TXTSnapshot.writeList(o, itemStatcosts.get().values(), ItemStatCost::write));
+        tables.put(Table.RUNEWORDS, o -> TXTSnapshot.writeList(o, runewords.get(), Runeword::write));
+        tables.put(Table.SET_ITEMS, o -> TXTSnapshot.writeList(o, setItems.get().values(), SetItem::write));
+        tables.put(Table.SET_IDS, o -> TXTSnapshot.writeShortListMap(o, setIDs.get()));
+        tables.put(Table.SETS, o -> TXTSnapshot.writeList(o, setData.get().values(), SetData::write));
+        tables.put(Table.WEAPONS, o -> TXTSnapshot.writeList(o, weaponsByCode.get().values(), WeaponStats::write));
+        tables.put(Table.ARMOR, o -> TXTSnapshot.writeList(o, armorsByCode.get().values(), ArmorStats::write));
+        tables.put(Table.MISC, o -> TXTSnapshot.writeList(o, miscItemsByCode.get().values(), MiscStats::write));
+        tables.put(Table.GEMS_AND_RUNES, o -> TXTSnapshot.writeList(o, gemsAndRunes.get().values(), GemAndRuneStats::write));
+        tables.put(Table.UNIQUE_ITEMS, o -> TXTSnapshot.writeList(o, uniqueItemById.get().values(), UniqueItem::write));
+        tables.put(Table.RARE_PREFIXES, o -> TXTSnapshot.writeList(o, rarePrefixes.get(), (name, nameOut) -> nameOut.writeUTF(name)));
+        tables.put(Table.RARE_SUFFIXES, o -> TXTSnapshot.writeList(o, rareSuffixes.get(), (name, nameOut) -> nameOut.writeUTF(name)));
+        tables.put(Table.MAGIC_PREFIXES, o -> TXTSnapshot.writeList(o, magicPrefixes.get(), MagicAffix::write));
+        tables.put(Table.MAGIC_SUFFIXES, o -> TXTSnapshot.writeList(o, magicSuffixes.get(), MagicAffix::write));
+        tables.put(Table.TREASURE_CLASS_BY_ITEM, o -> TXTSnapshot.writeIntMap(o, treasureClassByItem.get()));
+        tables.put(Table.TREASURE_CLASS_BY_CODE, o -> TXTSnapshot.writeIntMap(o, treasureClassByCode.get()));
+        TXTSnapshot.write(out, tables);
     }
 
     /**
@@ -114,7 +283,7 @@ public final class TXTProperties {
      * @return The associated {@link ArmorStats} or null if it wasn't found
      */
     public ArmorStats getArmorStatsByCode(String code) {
-        return armorsByCode.get(code);
+        return armorsByCode.get().get(code);
     }
 
     /**
@@ -123,7 +292,7 @@ public final class TXTProperties {
      * @return The associated {@link WeaponStats} or null if it wasn't found
      */
     public WeaponStats getWeaponStatsByCode(String code) {
-        return weaponsByCode.get(code);
+        return weaponsByCode.get().get(code);
     }
 
     /**
@@ -132,7 +301,16 @@ public final class TXTProperties {
      * @return The associated {@link MiscStats} or null if it wasn't found
      */
     public MiscStats getMiscItemsByCode(String code) {
-        return miscItemsByCode.get(code);
+        return miscItemsByCode.get().get(code);
+    }
+
+    /**
+     * Retrieve the {@link BaseItem} for a packed item code, resolving weapons, armor and misc items in a single lookup.
+     * @param packedCode The item code packed into an int, see {@link ParseHelper#packItemCode(String)}
+     * @return The associated {@link BaseItem} or null if it wasn't found
+     */
+    public BaseItem getBaseItemByCode(int packedCode) {
+        return baseItemsByCode.get().get(packedCode);
     }
 
     /**
@@ -141,7 +319,7 @@ public final class TXTProperties {
      * @return The associated {@link GemAndRuneStats} or null if it wasn't found
      */
     public GemAndRuneStats getGemsAndRunesByCode(String code) {
-        return gemsAndRunes.get(code);
+        return gemsAndRunes.get().get(code);
     }
 
     /**
@@ -150,7 +328,7 @@ public final class TXTProperties {
      * @return The associated name or null if it wasn't found
      */
     public String getRarePrefixById(int id) {
-        return rarePrefixes.get(id);
+        return rarePrefixes.get().get(id);
     }
 
     /**
@@ -159,7 +337,7 @@ public final class TXTProperties {
      * @return The associated name or null if it wasn't found
      */
     public String getRareSuffixById(int id) {
-        return rareSuffixes.get(id);
+        return rareSuffixes.get().get(id);
     }
 
     /**
@@ -168,7 +346,7 @@ public final class TXTProperties {
      * @return The associated {@link UniqueItem} or null if it wasn't found
      */
     public UniqueItem getUniqueNameById(short id) {
-        return uniqueItemById.get(id);
+        return uniqueItemById.get().get(id);
     }
 
     /**
@@ -176,7 +354,7 @@ public final class TXTProperties {
      * @return An immutable {@link List} of  all available {@link UniqueItem}s.
      */
     public List<UniqueItem> getUniques() {
-        return uniqueItemById.values().stream().toList();
+        return uniqueItemById.get().values();
     }
 
     /**
@@ -184,7 +362,16 @@ public final class TXTProperties {
      * @return An immutable {@link List} of all available {@link Runeword}s.
      */
     public List<Runeword> getRunewords() {
-        return List.copyOf(runewords);
+        return runewords.get();
+    }
+
+    /**
+     * Retrieve the runeword made by a specific combination of runes, for example to name a parsed runeword item.
+     * @param runes The names of the runes without " Rune", in the order they are socketed, e.g. "TalEthTir" for Steel
+     * @return The associated active {@link Runeword} or null if these runes don't make one
+     */
+    public Runeword getRunewordByRunes(String runes) {
+        return runewordsByRunes.get().get(runes);
     }
 
     /**
@@ -193,7 +380,7 @@ public final class TXTProperties {
      * @return The associated {@link ItemStatCost} or null if it wasn't found
      */
     public ItemStatCost getItemStatCostsByID(int id) {
-        return itemStatcosts.get(id);
+        return itemStatcosts.get().get(id);
     }
 
     /**
@@ -202,7 +389,7 @@ public final class TXTProperties {
      * @return The associated {@link SetItem} or null if it wasn't found
      */
     public SetItem getSetItemById(short setItemID) {
-        return setItems.get(setItemID);
+        return setItems.get().get(setItemID);
     }
 
     /**
@@ -210,7 +397,7 @@ public final class TXTProperties {
      * @return An immutable {@link List} of  all available {@link SetItem}s.
      */
     public List<SetItem> getSetItems() {
-        return setItems.values().stream().toList();
+        return setItems.get().values();
     }
 
     /**
@@ -219,7 +406,7 @@ public final class TXTProperties {
      * @return The associated {@link SetData} or null if it wasn't found
      */
     public SetData getSetDataByName(String name) {
-        return setData.get(name);
+        return setData.get().get(name);
     }
 
     /**
@@ -227,7 +414,7 @@ public final class TXTProperties {
      * @return An immutable {@link List} of all available set names.
      */
     public List<String> getSetNames() {
-        return setData.keySet().stream().toList();
+        return setData.get().keySet().stream().toList();
     }
 
     /**
@@ -236,7 +423,7 @@ public final class TXTProperties {
      * @return The associated {@link MagicAffix} or null if it wasn't found
      */
     public MagicAffix getMagicPrefix(int index) {
-        return magicPrefixes.get(index);
+        return magicPrefixes.get().get(index);
     }
 
     /**
@@ -245,7 +432,7 @@ public final class TXTProperties {
      * @return The associated {@link MagicAffix} or null if it wasn't found
      */
     public MagicAffix getMagicSuffix(int index) {
-        return magicSuffixes.get(index);
+        return magicSuffixes.get().get(index);
     }
 
     /**
@@ -254,7 +441,7 @@ public final class TXTProperties {
      * @return The treasure class of the item, or 0 if it couldn't be found
      */
     public int getTreasureClass(String itemName) {
-        return Optional.ofNullable(treasureClassByItem.get(itemName.toLowerCase())).orElse(0);
+        return Optional.ofNullable(treasureClassByItem.get().get(itemName.toLowerCase())).orElse(0);
     }
 
     /**
@@ -263,66 +450,53 @@ public final class TXTProperties {
      * @return The treasure class of the item, or 0 if it couldn't be found
      */
     public int getTreasureClassByCode(String code) {
-        return Optional.ofNullable(treasureClassByCode.get(code)).orElse(0);
+        return Optional.ofNullable(treasureClassByCode.get().get(code)).orElse(0);
     }
 
-    private void parseMagicSuffix() {
-        try (InputStream resource = new FileInputStream("txt/magicsuffix.txt")) {
-            new BufferedReader(new InputStreamReader(resource, StandardCharsets.UTF_8)).lines().forEach(line -> {
-                if (!line.startsWith("Name")) {
-                    magicSuffixes.add(new MagicAffix(magicSuffixes.size(), line));
-                }
-            });
-        } catch (IOException | NullPointerException e) {
-            throw new ParseException("Could not parse magicsuffix.txt file", e);
-        }
+    private static BaseItemIndex indexBaseItems(Map<String, ArmorStats> armorsByCode, Map<String, WeaponStats> weaponsByCode, Map<String, MiscStats> miscItemsByCode) {
+        final List<BaseItem> baseItems = new ArrayList<>();
+        armorsByCode.forEach((code, armorStats) -> baseItems.add(new BaseItem(code, ItemType.ARMOR, armorStats, null, null)));
+        weaponsByCode.forEach((code, weaponStats) -> baseItems.add(new BaseItem(code, ItemType.WEAPON, null, weaponStats, null)));
+        miscItemsByCode.forEach((code, miscStats) -> baseItems.add(new BaseItem(code, ItemType.MISC, null, null, miscStats)));
+        return new BaseItemIndex(baseItems);
     }
 
-    private void parseMagicPrefix() {
-        try (InputStream resource = new FileInputStream("txt/magicprefix.txt")) {
+    private static List<MagicAffix> parseMagicAffixes(final TXTSource source, final String fileName) {
+        final List<MagicAffix> magicAffixes = new ArrayList<>();
+        try (InputStream resource = source.open(fileName)) {
             new BufferedReader(new InputStreamReader(resource, StandardCharsets.UTF_8)).lines().forEach(line -> {
                 if (!line.startsWith("Name")) {
-                    magicPrefixes.add(new MagicAffix(magicPrefixes.size(), line));
+                    magicAffixes.add(new MagicAffix(magicAffixes.size(), line));
                 }
             });
         } catch (IOException | NullPointerException e) {
-            throw new ParseException("Could not parse magicprefix.txt file", e);
+            throw new ParseException("Could not parse %s file".formatted(fileName), e);
         }
+        return Collections.unmodifiableList(magicAffixes);
     }
 
-    private void parseRareSuffix() {
-        try (InputStream resource = new FileInputStream("txt/raresuffix.txt")) {
+    private static List<String> parseRareNames(final TXTSource source, final String fileName) {
+        final List<String> rareNames = new ArrayList<>();
+        try (InputStream resource = source.open(fileName)) {
             new BufferedReader(new InputStreamReader(resource, StandardCharsets.UTF_8)).lines().forEach(line -> {
                 if (!line.startsWith("name")) {
-                    String prefix = line.substring(0, line.indexOf("\t"));
-                    rareSuffixes.add(prefix);
+                    rareNames.add(line.substring(0, line.indexOf("\t")));
                 }
             });
         } catch (IOException | NullPointerException e) {
-            throw new ParseException("Could not parse raresuffix.txt file", e);
+            throw new ParseException("Could not parse %s file".formatted(fileName), e);
         }
+        return Collections.unmodifiableList(rareNames);
     }
 
-    private void parseRarePrefix() {
-        try (InputStream resource = new FileInputStream("txt/rareprefix.txt")) {
-            new BufferedReader(new InputStreamReader(resource, StandardCharsets.UTF_8)).lines().forEach(line -> {
-                if (!line.startsWith("name")) {
-                    String prefix = line.substring(0, line.indexOf("\t"));
-                    rarePrefixes.add(prefix);
-                }
-            });
-        } catch (IOException | NullPointerException e) {
-            throw new ParseException("Could not parse rareprefix.txt file", e);
-        }
-    }
-
-    private void parseUniqueItems() {
-        try (InputStream resource = new FileInputStream("txt/uniqueitems.txt")) {
+    private static List<UniqueItem> parseUniqueItems(final TXTSource source) {
+        final List<UniqueItem> uniqueItems = new ArrayList<>();
+        try (InputStream resource = source.open("uniqueitems.txt")) {
             new BufferedReader(new InputStreamReader(resource, StandardCharsets.UTF_8)).lines().forEach(line -> {
                 if (!line.startsWith("index") && !line.startsWith("Warlock") && line.length() > 90) { // skip the headers and comments
                     UniqueItem uniqueItem = new UniqueItem(line);
                     if (uniqueItem.isEnabled()) {
-                        uniqueItemById.put(uniqueItem.getId(), uniqueItem);
+                        uniqueItems.add(uniqueItem);
                     } else {
                         log.debug("skipping disabled unique {}", uniqueItem);
                     }
@@ -331,10 +505,12 @@ public final class TXTProperties {
         } catch (IOException | NullPointerException e) {
             throw new ParseException("Could not parse uniqueitems.txt file", e);
         }
+        return Collections.unmodifiableList(uniqueItems);
     }
 
-    private void parseMisc() {
-        try (InputStream resource = new FileInputStream("txt/misc.txt")) {
+    private static Map<String, MiscStats> parseMisc(final TXTSource source) {
+        final Map<String, MiscStats> miscItemsByCode = new HashMap<>();
+        try (InputStream resource = source.open("misc.txt")) {
             new BufferedReader(new InputStreamReader(resource, StandardCharsets.UTF_8)).lines().forEach(line -> {
                 if (!line.isBlank() && !line.startsWith("name\t") && !line.startsWith("Expansion")) {
                     final MiscStats miscStats = new MiscStats(line);
@@ -344,10 +520,12 @@ public final class TXTProperties {
         } catch (IOException | NullPointerException e) {
             throw new ParseException("Could not parse misc.txt file", e);
         }
+        return Collections.unmodifiableMap(miscItemsByCode);
     }
 
-    private void parseArmor() {
-        try (InputStream resource = new FileInputStream("txt/armor.txt")) {
+    private static Map<String, ArmorStats> parseArmor(final TXTSource source) {
+        final Map<String, ArmorStats> armorsByCode = new HashMap<>();
+        try (InputStream resource = source.open("armor.txt")) {
             new BufferedReader(new InputStreamReader(resource, StandardCharsets.UTF_8)).lines().forEach(line -> {
                 if (!line.isBlank() && !line.startsWith("name\t") && !line.startsWith("Expansion")) {
                     final ArmorStats armorStats = new ArmorStats(line);
@@ -357,10 +535,12 @@ public final class TXTProperties {
         } catch (IOException | NullPointerException e) {
             throw new ParseException("Could not parse armor.txt file", e);
         }
+        return Collections.unmodifiableMap(armorsByCode);
     }
 
-    private void parseWeapons() {
-        try (InputStream resource = new FileInputStream("txt/weapons.txt")) {
+    private static Map<String, WeaponStats> parseWeapons(final TXTSource source) {
+        final Map<String, WeaponStats> weaponsByCode = new HashMap<>();
+        try (InputStream resource = source.open("weapons.txt")) {
             new BufferedReader(new InputStreamReader(resource, StandardCharsets.UTF_8)).lines().forEach(line -> {
                 if (!line.isBlank() && !line.startsWith("name\t") && !line.startsWith("Expansion")) {
                     final WeaponStats weaponStats = new WeaponStats(line);
@@ -370,41 +550,51 @@ public final class TXTProperties {
         } catch (IOException | NullPointerException e) {
             throw new ParseException("Could not parse weapons.txt file", e);
         }
+        return Collections.unmodifiableMap(weaponsByCode);
     }
 
-    private void parseSets() {
-        try (InputStream resource = new FileInputStream("txt/sets.txt")) {
+    private static Map<String, SetData> parseSets(final TXTSource source, final Map<String, List<Short>> setIDs, final ItemStatCostAndProperties itemStatCostAndProperties) {
+        final Map<String, SetData> setData = new HashMap<>();
+        try (InputStream resource = source.open("sets.txt")) {
             new BufferedReader(new InputStreamReader(resource, StandardCharsets.UTF_8)).lines().forEach(line -> {
                 if (!line.isBlank() && !line.startsWith("index\t") && !line.startsWith("Expansion")) {
-                    SetData set = new SetData(line, setIDs, new ItemStatCostAndProperties(itemStatcostsByCode, genericPropertiesByCode));
+                    SetData set = new SetData(line, setIDs, itemStatCostAndProperties);
                     setData.put(set.getName(), set);
                 }
             });
         } catch (IOException | NullPointerException e) {
             throw new ParseException("Could not parse sets.txt file", e);
         }
+        return Collections.unmodifiableMap(setData);
     }
 
-    private void parseSetItems() {
-        try (InputStream resource = new FileInputStream("txt/setitems.txt")) {
+    private static List<SetItem> parseSetItems(final TXTSource source) {
+        final List<SetItem> setItems = new ArrayList<>();
+        try (InputStream resource = source.open("setitems.txt")) {
             new BufferedReader(new InputStreamReader(resource, StandardCharsets.UTF_8)).lines().forEach(line -> {
                 String[] blocks = line.split("\t");
                 if (blocks.length > 2 && ParseHelper.isNumeric(blocks[1])) {
-                    final short id = Short.parseShort(blocks[1]);
-                    setItems.put(id, new SetItem(line));
-                    final String setName = blocks[2];
-                    List<Short> ids = setIDs.getOrDefault(setName, new ArrayList<>());
-                    ids.add(id);
-                    setIDs.put(setName, ids);
+                    setItems.add(new SetItem(line));
                 }
             });
         } catch (IOException | NullPointerException e) {
             throw new ParseException("Could not parse setitems.txt file", e);
         }
+        return Collections.unmodifiableList(setItems);
+    }
+
+    private static Map<String, List<Short>> groupSetIDs(final List<SetItem> setItems) {
+        final Map<String, List<Short>> setIDs = new HashMap<>();
+        for (SetItem setItem : setItems) {
+            setIDs.computeIfAbsent(setItem.getSetName(), _ -> new ArrayList<>()).add((short) setItem.getId());
+        }
+        setIDs.replaceAll((setName, ids) -> List.copyOf(ids));
+        return Collections.unmodifiableMap(setIDs);
     }
 
-    private void parseRunewords() {
-        try (InputStream resource = new FileInputStream("txt/runes.txt")) {
+    private static List<Runeword> parseRunewords(final TXTSource source) {
+        final List<Runeword> runewords = new ArrayList<>();
+        try (InputStream resource = source.open("runes.txt")) {
             new BufferedReader(new InputStreamReader(resource, StandardCharsets.UTF_8)).lines().forEach(line -> {
                 if (!line.isEmpty() && !line.startsWith("Name")) {
                     runewords.add(new Runeword(line));
@@ -414,10 +604,12 @@ public final class TXTProperties {
         } catch (IOException | NullPointerException e) {
             throw new ParseException("Could not parse runes.txt file", e);
         }
+        return Collections.unmodifiableList(runewords);
     }
 
-    private void parseProperties() {
-        try (InputStream resource = new FileInputStream("txt/properties.txt")) {
+    private static Map<String, String> parseProperties(final TXTSource source) {
+        final Map<String, String> genericPropertiesByCode = new HashMap<>();
+        try (InputStream resource = source.open("properties.txt")) {
             new BufferedReader(new InputStreamReader(resource, StandardCharsets.UTF_8)).lines().forEach(line -> {
                 String[] blocks = line.split("\t");
                 if (blocks.length > 1 && !"code".equals(blocks[0])) {
@@ -427,75 +619,59 @@ public final class TXTProperties {
         } catch (IOException | NullPointerException e) {
             throw new ParseException("Could not parse properties.txt file", e);
         }
+        return Collections.unmodifiableMap(genericPropertiesByCode);
     }
 
-    private void parseItemStatCost() {
-        try (InputStream resource = new FileInputStream("txt/itemstatcost.txt")) {
+    private static List<ItemStatCost> parseItemStatCost(final TXTSource source) {
+        final List<ItemStatCost> itemStatCosts = new ArrayList<>();
+        try (InputStream resource = source.open("itemstatcost.txt")) {
             new BufferedReader(new InputStreamReader(resource, StandardCharsets.UTF_8)).lines().forEach(line -> {
                 if (!line.isEmpty() && !line.startsWith("Stat\t*ID\t")) {
-                    final ItemStatCost isc = new ItemStatCost(line);
-                    itemStatcosts.put(isc.getId(), isc);
-                    itemStatcostsByCode.put(isc.getStat(), isc);
+                    itemStatCosts.add(new ItemStatCost(line));
                 }
             });
         } catch (IOException | NullPointerException e) {
             throw new ParseException("Could not parse itemstatcost.txt file", e);
         }
+        return Collections.unmodifiableList(itemStatCosts);
     }
 
-    private void parseGems() {
-        try (InputStream resource = new FileInputStream("txt/gems.txt")) {
+    private static Map<String, GemAndRuneStats> parseGems(final TXTSource source, final ItemStatCostAndProperties itemStatCostAndProperties) {
+        final Map<String, GemAndRuneStats> gemsAndRunes = new HashMap<>();
+        try (InputStream resource = source.open("gems.txt")) {
             new BufferedReader(new InputStreamReader(resource, StandardCharsets.UTF_8)).lines().forEach(line -> {
                 if (!line.isBlank() && !line.startsWith("name") && !line.startsWith("Expansion")) {
-                    final GemAndRuneStats gemsAndRuneStats = new GemAndRuneStats(line, new ItemStatCostAndProperties(itemStatcostsByCode, genericPropertiesByCode));
+                    final GemAndRuneStats gemsAndRuneStats = new GemAndRuneStats(line, itemStatCostAndProperties);
                     gemsAndRunes.put(gemsAndRuneStats.getCode(), gemsAndRuneStats);
                 }
             });
         } catch (IOException | NullPointerException e) {
             throw new ParseException("Could not parse gems.txt file", e);
         }
+        return Collections.unmodifiableMap(gemsAndRunes);
     }
 
-    private void parseTreasureClass() {
-        try (InputStream resource = Thread.currentThread().getContextClassLoader().getResourceAsStream("tcbyitemname.txt")) {
-            new BufferedReader(new InputStreamReader(resource, StandardCharsets.UTF_8)).lines().forEach(line -> {
-                if (!line.isBlank() && !line.startsWith("name")) {
-                    String[] blocks = line.split("\t");
-                    if (blocks.length != 2) {
-                        log.error("incorrect line in tcbyitemname: {}", line);
-                    } else {
-                        if (!ParseHelper.isNumeric(blocks[1])) {
-                            log.error("could not read numeric TC from line {}", line);
-                        } else {
-                            treasureClassByItem.put(blocks[0].toLowerCase(), Integer.parseInt(blocks[1]));
-                        }
-                    }
-                }
-            });
-        } catch (IOException | NullPointerException e) {
-            throw new ParseException("Could not parse tcbyitemname.txt file", e);
-        }
-    }
-
-    private void parseTreasureClassByCode() {
-        try (InputStream resource = Thread.currentThread().getContextClassLoader().getResourceAsStream("tcbyitemcode.txt")) {
+    private static Map<String, Integer> parseTreasureClasses(final String fileName) {
+        final Map<String, Integer> treasureClasses = new HashMap<>();
+        try (InputStream resource = Thread.currentThread().getContextClassLoader().getResourceAsStream(fileName)) {
             new BufferedReader(new InputStreamReader(resource, StandardCharsets.UTF_8)).lines().forEach(line -> {
                 if (!line.isBlank() && !line.startsWith("name")) {
                     String[] blocks = line.split("\t");
                     if (blocks.length != 2) {
-                        log.error("incorrect line in tcbyitemcode: {}", line);
+                        log.error("incorrect line in {}: {}", fileName, line);
                     } else {
                         if (!ParseHelper.isNumeric(blocks[1])) {
                             log.error("could not read numeric TC from line {}", line);
                         } else {
-                            treasureClassByCode.put(blocks[0].toLowerCase(), Integer.parseInt(blocks[1]));
+                            treasureClasses.put(blocks[0].toLowerCase(), Integer.parseInt(blocks[1]));
                         }
                     }
                 }
             });
         } catch (IOException | NullPointerException e) {
-            throw new ParseException("Could not parse tcbyitemcode.txt file", e);
+            throw new ParseException("Could not parse %s file".formatted(fileName), e);
         }
+        return Collections.unmodifiableMap(treasureClasses);
     }
 
     private static List<ItemStatCost> getStatIndexesByName(String name, ItemStatCostAndProperties itemStatCostAndProperties) {
@@ -0,0 +1,334 @@
+/*
+ * Copyright (C) 2026   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.txt;
+
+import io.github.paladijn.d2rsavegameparser.model.ItemProperty;
+import io.github.paladijn.d2rsavegameparser.parser.ParseException;
+import org.slf4j.Logger;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Precompiled binary snapshot of the parsed txt tables. The snapshot is generated during the build (see {@link #main(String[])})
+ * from the same txt files that are bundled in the jar, so {@link TXTProperties} can load all tables with a single read instead
+ * of parsing the tab-separated files on every start.
+ * <p>
+ * The format is a header (magic, format version) followed by the length of each {@link Table} and then the table data itself,
+ * written with {@link DataOutput}. The snapshot is only used for {@link TXTSource#classpath()}, and ignored when the format
+ * version doesn't match or the system property {@value #SNAPSHOT_PROPERTY} is set to {@code false}.
+ *
+ * @author Paladijn
+ */
+final class TXTSnapshot {
+    private static final Logger log = getLogger(TXTSnapshot.class);
+
+    static final String RESOURCE_NAME = "txt.snapshot";
+
+    static final String SNAPSHOT_PROPERTY = "d2rsavegameparser.txt.snapshot";
+
+    private static final int MAGIC = 0x44325458; // "D2TX"
+
+    /**
+     * Increase this whenever the layout of a table, or the fields written by one of the txt classes, change.
+     */
+    private static final int FORMAT_VERSION = 3;
+
+    /**
+     * The tables in the snapshot, in the order they are stored.
+     */
+    enum Table {
+        PROPERTIES,
+        ITEM_STAT_COST,
+        RUNEWORDS,
+        SET_ITEMS,
+        SET_IDS,
+        SETS,
+        WEAPONS,
+        ARMOR,
+        MISC,
+        GEMS_AND_RUNES,
+        UNIQUE_ITEMS,
+        RARE_PREFIXES,
+        RARE_SUFFIXES,
+        MAGIC_PREFIXES,
+        MAGIC_SUFFIXES,
+        TREASURE_CLASS_BY_ITEM,
+        TREASURE_CLASS_BY_CODE
+    }
+
+    @FunctionalInterface
+    interface ElementReader<T> {
+        T read(DataInput in) throws IOException;
+    }
+
+    @FunctionalInterface
+    interface ElementWriter<T> {
+        void write(T element, DataOutput out) throws IOException;
+    }
+
+    @FunctionalInterface
+    interface TableWriter {
+        void write(DataOutput out) throws IOException;
+    }
+
+    private final byte[] data;
+    private final int[] offsets = new int[Table.values().length];
+    private final int[] lengths = new int[Table.values().length];
+
+    TXTSnapshot(final byte[] data) throws IOException {
+        this.data = data;
+        final DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        if (in.readInt() != MAGIC || in.readUnsignedShort() != FORMAT_VERSION) {
+            throw new IOException("not a txt snapshot of format version " + FORMAT_VERSION);
+        }
+        if (in.readUnsignedShort() != Table.values().length) {
+            throw new IOException("unexpected number of tables in the txt snapshot");
+        }
+        int offset = Integer.BYTES + Short.BYTES + Short.BYTES + Table.values().length * Integer.BYTES;
+        for (int i = 0; i < lengths.length; i++) {
+            lengths[i] = in.readInt();
+            offsets[i] = offset;
+            offset += lengths[i];
+        }
+        if (offset != data.length) {
+            throw new IOException("txt snapshot is truncated, expected %d bytes but got %d".formatted(offset, data.length));
+        }
+    }
+
+    /**
+     * Load the snapshot bundled with the library.
+     *
+     * @return the snapshot, or null when it's unavailable or disabled, in which case the txt files should be parsed.
+     */
+    static TXTSnapshot load() {
+        if ("false".equalsIgnoreCase(System.getProperty(SNAPSHOT_PROPERTY))) {
+            log.debug("txt snapshot disabled by system property {}", SNAPSHOT_PROPERTY);
+            return null;
+        }
+        try (InputStream resource = TXTSnapshot.class.getResourceAsStream(RESOURCE_NAME)) {
+            if (resource == null) {
+                log.debug("no txt snapshot available, parsing the txt files");
+                return null;
+            }
+            return new TXTSnapshot(resource.readAllBytes());
+        } catch (IOException e) {
+            log.warn("could not read the txt snapshot, parsing the txt files instead", e);
+            return null;
+        }
+    }
+
+    <T> List<T> readList(final Table table, final ElementReader<T> reader) {
+        try {
+            final DataInputStream in = open(table);
+            final int size = in.readInt();
+            final List<T> elements = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                elements.add(reader.read(in));
+            }
+            return Collections.unmodifiableList(elements);
+        } catch (IOException e) {
+            throw new ParseException("Could not read %s from the txt snapshot".formatted(table), e);
+        }
+    }
+
+    <K, V> Map<K, V> readMap(final Table table, final ElementReader<V> reader, final Function<V, K> keyMapper) {
+        final Map<K, V> elements = new HashMap<>();
+        for (V element : readList(table, reader)) {
+            elements.put(keyMapper.apply(element), element);
+        }
+        return Collections.unmodifiableMap(elements);
+    }
+
+    Map<String, String> readStringMap(final Table table) {
+        return readEntries(table, DataInput::readUTF);
+    }
+
+    Map<String, Integer> readIntMap(final Table table) {
+        return readEntries(table, DataInput::readInt);
+    }
+
+    Map<String, List<Short>> readShortListMap(final Table table) {
+        return readEntries(table, in -> {
+            final Short[] values = new Short[in.readUnsignedShort()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = in.readShort();
+            }
+            return List.of(values);
+        });
+    }
+
+    private <V> Map<String, V> readEntries(final Table table, final ElementReader<V> valueReader) {
+        try {
+            final DataInputStream in = open(table);
+            final int size = in.readInt();
+            final Map<String, V> entries = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                entries.put(in.readUTF(), valueReader.read(in));
+            }
+            return Collections.unmodifiableMap(entries);
+        } catch (IOException e) {
+            throw new ParseException("Could not read %s from the txt snapshot".formatted(table), e);
+        }
+    }
+
+    private DataInputStream open(final Table table) {
+        return new DataInputStream(new ByteArrayInputStream(data, offsets[table.ordinal()], lengths[table.ordinal()]));
+    }
+
+    /**
+     * Write a snapshot containing all tables.
+     *
+     * @param out the stream to write the snapshot to
+     * @param tables the writer for every {@link Table}
+     * @throws IOException in case the snapshot could not be written
+     */
+    static void write(final OutputStream out, final Map<Table, TableWriter> tables) throws IOException {
+        final List<byte[]> tableData = new ArrayList<>();
+        for (Table table : Table.values()) {
+            final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            final DataOutputStream tableOut = new DataOutputStream(buffer);
+            final TableWriter tableWriter = tables.get(table);
+            if (tableWriter == null) {
+                throw new IllegalArgumentException("no writer for table " + table);
+            }
+            tableWriter.write(tableOut);
+            tableOut.flush();
+            tableData.add(buffer.toByteArray());
+        }
+
+        final DataOutputStream dataOut = new DataOutputStream(out);
+        dataOut.writeInt(MAGIC);
+        dataOut.writeShort(FORMAT_VERSION);
+        dataOut.writeShort(tableData.size());
+        for (byte[] table : tableData) {
+            dataOut.writeInt(table.length);
+        }
+        for (byte[] table : tableData) {
+            dataOut.write(table);
+        }
+        dataOut.flush();
+    }
+
+    static <T> void writeList(final DataOutput out, final Collection<T> elements, final ElementWriter<T> writer) throws IOException {
+        out.writeInt(elements.size());
+        for (T element : elements) {
+            writer.write(element, out);
+        }
+    }
+
+    static void writeStringMap(final DataOutput out, final Map<String, String> entries) throws IOException {
+        writeEntries(out, entries, (value, valueOut) -> valueOut.writeUTF(value));
+    }
+
+    static void writeIntMap(final DataOutput out, final Map<String, Integer> entries) throws IOException {
+        writeEntries(out, entries, (value, valueOut) -> valueOut.writeInt(value));
+    }
+
+    static void writeShortListMap(final DataOutput out, final Map<String, List<Short>> entries) throws IOException {
+        writeEntries(out, entries, (values, valueOut) -> {
+            valueOut.writeShort(values.size());
+            for (short value : values) {
+                valueOut.writeShort(value);
+            }
+        });
+    }
+
+    private static <V> void writeEntries(final DataOutput out, final Map<String, V> entries, final ElementWriter<V> valueWriter) throws IOException {
+        out.writeInt(entries.size());
+        for (Map.Entry<String, V> entry : entries.entrySet()) {
+            out.writeUTF(entry.getKey());
+            valueWriter.write(entry.getValue(), out);
+        }
+    }
+
+    static String readNullableString(final DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    static void writeNullableString(final DataOutput out, final String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    static List<ItemProperty> readItemProperties(final DataInput in) throws IOException {
+        final int size = in.readUnsignedShort();
+        final List<ItemProperty> itemProperties = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            final int index = in.readShort();
+            final String name = in.readUTF();
+            final int[] values = new int[in.readUnsignedByte()];
+            for (int v = 0; v < values.length; v++) {
+                values[v] = in.readInt();
+            }
+            itemProperties.add(new ItemProperty(index, name, values, in.readByte(), in.readShort()));
+        }
+        return itemProperties;
+    }
+
+    static void writeItemProperties(final DataOutput out, final List<ItemProperty> itemProperties) throws IOException {
+        out.writeShort(itemProperties.size());
+        for (ItemProperty itemProperty : itemProperties) {
+            out.writeShort(itemProperty.index());
+            out.writeUTF(itemProperty.name());
+            out.writeByte(itemProperty.values().length);
+            for (int value : itemProperty.values()) {
+                out.writeInt(value);
+            }
+            out.writeByte(itemProperty.qualityFlag());
+            out.writeShort(itemProperty.order());
+        }
+    }
+
+    /**
+     * Generate the snapshot from a directory of txt files. This is called during the build, after the classes have been compiled.
+     *
+     * @param args the directory containing the txt files and the file to write the snapshot to
+     * @throws IOException in case the snapshot could not be written
+     */
+    static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("usage: TXTSnapshot <txt directory> <output file>");
+        }
+        final Path output = Path.of(args[1]);
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        try (OutputStream out = Files.newOutputStream(output)) {
+            new TXTProperties(TXTSource.directory(Path.of(args[0])), null).writeSnapshot(out);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2026   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.txt;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Location to read the Diablo II .txt files from, see {@link TXTProperties#useSource(TXTSource)}. The files are looked up by
+ * their name, e.g. "weapons.txt".
+ *
+ * @author Paladijn
+ */
+public final class TXTSource {
+    private static final TXTSource CLASSPATH = new TXTSource("classpath:/txt",
+            fileName -> TXTSource.class.getResourceAsStream("/txt/" + fileName));
+
+    @FunctionalInterface
+    private interface Opener {
+        InputStream open(String fileName) throws IOException;
+    }
+
+    private final String description;
+
+    private final Opener opener;
+
+    private TXTSource(final String description, final Opener opener) {
+        this.description = description;
+        this.opener = opener;
+    }
+
+    /**
+     * The txt files bundled with the library. This is the default and the fastest option, as these are loaded from a
+     * precompiled snapshot instead of parsing the individual files.
+     *
+     * @return the {@link TXTSource} for the bundled txt files
+     */
+    public static TXTSource classpath() {
+        return CLASSPATH;
+    }
+
+    /**
+     * Read the txt files from a directory, for example the extracted (and possibly modded) files of a game installation.
+     *
+     * @param directory the directory containing the txt files
+     * @return the {@link TXTSource} for that directory
+     */
+    public static TXTSource directory(final Path directory) {
+        Objects.requireNonNull(directory, "directory");
+        return new TXTSource(directory.toString(), fileName -> Files.newInputStream(directory.resolve(fileName)));
+    }
+
+    /**
+     * Read the txt files from memory, for example when they are retrieved from a database or archive.
+     *
+     * @param files the contents of the txt files by their name, the byte arrays are copied
+     * @return the {@link TXTSource} for these files
+     */
+    public static TXTSource inMemory(final Map<String, byte[]> files) {
+        final Map<String, byte[]> copy = new HashMap<>();
+        files.forEach((fileName, content) -> copy.put(fileName, content.clone()));
+        return new TXTSource("memory", fileName -> {
+            final byte[] content = copy.get(fileName);
+            return content == null ? null : new ByteArrayInputStream(content);
+        });
+    }
+
+    /**
+     * Open one of the txt files.
+     *
+     * @param fileName the name of the txt file, e.g. "weapons.txt"
+     * @return the contents of the file
+     * @throws IOException in case the file doesn't exist or couldn't be opened
+     */
+    InputStream open(final String fileName) throws IOException {
+        final InputStream inputStream = opener.open(fileName);
+        if (inputStream == null) {
+            throw new FileNotFoundException("%s not found in %s".formatted(fileName, description));
+        }
+        return inputStream;
+    }
+
+    /**
+     * @return true if these are the txt files bundled with the library, for which the {@link TXTSnapshot} was generated.
+     */
+    boolean isBundled() {
+        return this == CLASSPATH;
+    }
+
+    @Override
+    public String toString() {
+        return "TXTSource{" + description + '}';
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2026   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.txt;
+
+/**
+ * The groups of tables in {@link TXTProperties} that can be loaded up front with {@link TXTProperties#preload(TXTTable...)}.
+ * Tables which are not preloaded are loaded the first time they are needed.
+ *
+ * @author Paladijn
+ */
+public enum TXTTable {
+    /**
+     * The base items from weapons.txt, armor.txt and misc.txt, needed to parse any item.
+     */
+    BASE_ITEMS,
+
+    /**
+     * The stats from itemstatcost.txt, needed to parse the properties of items.
+     */
+    ITEM_STAT_COST,
+
+    /**
+     * The unique items from uniqueitems.txt.
+     */
+    UNIQUE_ITEMS,
+
+    /**
+     * The set items from setitems.txt.
+     */
+    SET_ITEMS,
+
+    /**
+     * The sets and their bonuses from sets.txt.
+     */
+    SETS,
+
+    /**
+     * The runewords from runes.txt.
+     */
+    RUNEWORDS,
+
+    /**
+     * The properties of socketed gems and runes from gems.txt.
+     */
+    GEMS_AND_RUNES,
+
+    /**
+     * The names of rare items from rareprefix.txt and raresuffix.txt.
+     */
+    RARE_NAMES,
+
+    /**
+     * The magic affixes from magicprefix.txt and magicsuffix.txt.
+     */
+    MAGIC_AFFIXES,
+
+    /**
+     * The treasure classes of items.
+     */
+    TREASURE_CLASSES
+}
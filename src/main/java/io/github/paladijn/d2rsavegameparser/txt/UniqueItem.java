@@ -17,6 +17,10 @@
  */
 package io.github.paladijn.d2rsavegameparser.txt;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Representation of a unique item from the uniqueitems.txt resource file.
  *
@@ -48,6 +52,33 @@ public final class UniqueItem {
         enabled = "1".equals(blocks[4]) || "2".equals(ladderFirst); // the sunder charms are also enabled in SP. Perhaps this should be a check for non-empty?
     }
 
+    /**
+     * Constructor which reads a unique back from the txt snapshot, in the order written by {@link #write(DataOutput)}.
+     * @param in the snapshot data, positioned at this unique
+     * @throws IOException in case the snapshot data could not be read
+     */
+    UniqueItem(final DataInput in) throws IOException {
+        name = in.readUTF();
+        id = in.readShort();
+        enabled = in.readBoolean();
+        ladderFirst = in.readUTF();
+        ladderLast = in.readUTF();
+        code = in.readUTF();
+        itemName = in.readUTF();
+        reqLvl = in.readShort();
+    }
+
+    void write(final DataOutput out) throws IOException {
+        out.writeUTF(name);
+        out.writeShort(id);
+        out.writeBoolean(enabled);
+        out.writeUTF(ladderFirst);
+        out.writeUTF(ladderLast);
+        out.writeUTF(code);
+        out.writeUTF(itemName);
+        out.writeShort(reqLvl);
+    }
+
     /**
      * Returns whether the unique item is enabled.
      *
@@ -19,6 +19,10 @@ package io.github.paladijn.d2rsavegameparser.txt;
 
 import io.github.paladijn.d2rsavegameparser.internal.parser.ParseHelper;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Representation of an item from the weapons.txt resource file.
  *
@@ -86,6 +90,45 @@ public final class WeaponStats {
         questDiffCheck = false; // This is at index 70, however the difficulty is stored in a property instead.
     }
 
+    /**
+     * Constructor which reads an item back from the txt snapshot, in the order written by {@link #write(DataOutput)}.
+     * @param in the snapshot data, positioned at this item
+     * @throws IOException in case the snapshot data could not be read
+     */
+    WeaponStats(final DataInput in) throws IOException {
+        name = in.readUTF();
+        type = in.readUTF();
+        type2 = in.readUTF();
+        code = in.readUTF();
+        isTwoHanded = in.readBoolean();
+        isStackable = in.readBoolean();
+        isThrown = in.readBoolean();
+        reqStr = in.readShort();
+        reqDex = in.readShort();
+        reqLvl = in.readShort();
+        invWidth = in.readByte();
+        invHeight = in.readByte();
+        maxStacks = in.readShort();
+        questDiffCheck = in.readBoolean();
+    }
+
+    void write(final DataOutput out) throws IOException {
+        out.writeUTF(name);
+        out.writeUTF(type);
+        out.writeUTF(type2);
+        out.writeUTF(code);
+        out.writeBoolean(isTwoHanded);
+        out.writeBoolean(isStackable);
+        out.writeBoolean(isThrown);
+        out.writeShort(reqStr);
+        out.writeShort(reqDex);
+        out.writeShort(reqLvl);
+        out.writeByte(invWidth);
+        out.writeByte(invHeight);
+        out.writeShort(maxStacks);
+        out.writeBoolean(questDiffCheck);
+    }
+
     /**
      * Gets the code of the item.
      *
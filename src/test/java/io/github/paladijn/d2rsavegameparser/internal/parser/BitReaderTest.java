@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2026   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.internal.parser;
+
+import io.github.paladijn.d2rsavegameparser.parser.ParseException;
+import org.junit.jupiter.api.Test;
+
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class BitReaderTest {
+
+    private final byte[] data = new byte[64];
+
+    BitReaderTest() {
+        new Random(2960).nextBytes(data);
+    }
+
+    @Test
+    void readMatchesBitByBitReference() {
+        for (int bits = 1; bits <= 32; bits++) {
+            for (int start = 0; start < data.length * 8; start += 3) {
+                final BitReader br = new BitReader(data);
+                br.skip(start);
+
+                assertThat(br.readInt(bits))
+                        .as("%d bits at %d", bits, start)
+                        .isEqualTo((int) reference(start, bits));
+                assertThat(br.getPositionInBits()).isEqualTo(start + bits);
+            }
+        }
+    }
+
+    @Test
+    void allBackingStoresReadTheSameRange() {
+        final ByteBuffer direct = ByteBuffer.allocateDirect(data.length).put(0, data);
+        final List<BitReader> readers = List.of(
+                new BitReader(Arrays.copyOfRange(data, 5, 45)),
+                new BitReader(data, 5, 40),
+                new BitReader(ByteBuffer.wrap(data), 5, 40),
+                new BitReader(direct, 5, 40),
+                new BitReader(MemorySegment.ofArray(data).asSlice(5, 40)));
+
+        for (int start = 0; start < 40 * 8; start += 7) {
+            final long expected = reference(start + 5 * 8, Math.min(33, 40 * 8 - start));
+            for (BitReader br : readers) {
+                br.skip(start - br.getPositionInBits());
+                assertThat(br.readLong(Math.min(33, 40 * 8 - start))).as("bit %d", start).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    void readFlippedIntReturnsStreamOrder() {
+        final BitReader br = new BitReader(new byte[]{0b0000_0001, 0, 0, (byte) 0b1000_0000});
+
+        assertThat(br.readFlippedInt(32)).isEqualTo(0x8000_0001);
+    }
+
+    @Test
+    void peekDoesNotMoveAndPadsWithZeroes() {
+        final BitReader br = new BitReader(new byte[]{(byte) 0xFF, 0x01});
+        br.skip(4);
+
+        assertThat(br.peekNextBytes(24)).isEqualTo(0x1FL);
+        assertThat(br.getPositionInBits()).isEqualTo(4);
+    }
+
+    @Test
+    void readAcrossTheEightByteWindow() {
+        final BitReader br = new BitReader(data);
+        br.skip(7);
+
+        assertThat(br.readLong(64)).isEqualTo(reference(7, 64));
+    }
+
+    @Test
+    void zeroBitsReadsNothing() {
+        final BitReader br = new BitReader(data);
+
+        assertThat(br.readInt(0)).isZero();
+        assertThat(br.getPositionInBits()).isZero();
+    }
+
+    @Test
+    void decodeHuffmanItemCode() {
+        // Greater Healing Potion, the code starts after the 32 flag bits and 21 bits of location data
+        final BitReader br = new BitReader(new byte[]{16, 0, -96, 8, 21, 36, 0, -49, -81, 0});
+        br.skip(53);
+
+        assertThat(br.readHuffmanEncodedString()).isEqualTo("hp4");
+        assertThat(br.getPositionInBits()).isEqualTo(53 + 5 + 5 + 8 + 2); // h, p, 4 and the terminating space
+    }
+
+    @Test
+    void decodeHuffmanItemCodeAsPackedInt() {
+        final BitReader br = new BitReader(new byte[]{16, 0, -96, 8, 21, 36, 0, -49, -81, 0});
+        br.skip(53);
+
+        assertThat(br.readHuffmanEncodedCode()).isEqualTo(ParseHelper.packItemCode("hp4"));
+        assertThat(ParseHelper.unpackItemCode(ParseHelper.packItemCode("hp4"))).isEqualTo("hp4");
+    }
+
+    @Test
+    void failOnUnknownHuffmanSequence() {
+        // 000101111 is the only 9-bit sequence without a character assigned
+        final BitReader br = new BitReader(new byte[]{(byte) 0b1110_1000, 0b0000_0001});
+
+        assertThatExceptionOfType(ParseException.class)
+                .isThrownBy(br::readHuffmanEncodedString)
+                .withMessage("Huffman decoding failed, unknown bit sequence at bit 0");
+    }
+
+    private long reference(int start, int bits) {
+        long result = 0;
+        for (int i = 0; i < bits; i++) {
+            final int position = start + i;
+            final int bit = position / 8 < data.length ? (data[position / 8] >> (position % 8)) & 1 : 0;
+            result |= (long) bit << i;
+        }
+        return result;
+    }
+}
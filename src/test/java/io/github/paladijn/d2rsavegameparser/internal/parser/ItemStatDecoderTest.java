@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2026   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.internal.parser;
+
+import io.github.paladijn.d2rsavegameparser.model.ItemProperty;
+import io.github.paladijn.d2rsavegameparser.txt.TXTProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemStatDecoderTest {
+    private final ItemStatDecoder cut = ItemStatDecoder.of(TXTProperties.getInstance());
+
+    @Test
+    void chargedSkill() {
+        // item_charged_skill: level 6 bits, skill 10 bits, charges and max charges 8 bits each
+        final BitReader br = bits(new int[][]{{204, 9}, {20, 6}, {54, 10}, {7, 8}, {12, 8}, {ParseHelper.PROPERTY_END, 9}});
+
+        final List<ItemProperty> properties = cut.readProperties(br, 0);
+
+        assertThat(properties).hasSize(1);
+        assertThat(properties.getFirst().name()).isEqualTo("item_charged_skill");
+        assertThat(properties.getFirst().values()).containsExactly(20, 54, 7, 12);
+        assertThat(br.getPositionInBits()).isEqualTo(9 + 32 + 9);
+    }
+
+    @Test
+    void coldDamageIsFollowedByMaxDamageAndDuration() {
+        final BitReader br = bits(new int[][]{{54, 9}, {5, 8}, {10, 9}, {75, 8}, {ParseHelper.PROPERTY_END, 9}});
+
+        final List<ItemProperty> properties = cut.readProperties(br, 0);
+
+        assertThat(properties).extracting(ItemProperty::name).containsExactly("coldmindam", "coldmaxdam", "coldlength");
+        assertThat(properties).extracting(property -> property.values()[0]).containsExactly(5, 10, 75);
+    }
+
+    @Test
+    void stopAtUnknownStat() {
+        final BitReader br = bits(new int[][]{{450, 9}, {ParseHelper.PROPERTY_END, 9}});
+
+        assertThat(cut.readProperties(br, 0)).isEmpty();
+    }
+
+    @Test
+    void compiledOnce() {
+        assertThat(ItemStatDecoder.of(TXTProperties.getInstance())).isSameAs(cut);
+    }
+
+    /**
+     * Pack the {value, bits} pairs LSB-first, the way they are stored in the savegame.
+     */
+    private static BitReader bits(int[][] fields) {
+        final byte[] data = new byte[16];
+        int position = 0;
+        for (int[] field : fields) {
+            for (int i = 0; i < field[1]; i++, position++) {
+                if ((field[0] >> i & 1) == 1) {
+                    data[position >> 3] |= (byte) (1 << (position & 7));
+                }
+            }
+        }
+        return new BitReader(data);
+    }
+}
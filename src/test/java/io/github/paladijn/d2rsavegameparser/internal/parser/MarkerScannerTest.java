@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2026   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.internal.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MarkerScannerTest {
+
+    @Test
+    void scansMatchNaiveSearch() {
+        final Random random = new Random(2960);
+        for (int run = 0; run < 200; run++) {
+            final byte[] data = new byte[1 + random.nextInt(80)];
+            for (int i = 0; i < data.length; i++) {
+                // a small alphabet with a zero byte gives plenty of partial matches and false SWAR candidates
+                data[i] = (byte) "JMkf\0".charAt(random.nextInt(5));
+            }
+            final ByteBuffer buffer = ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
+            for (int marker : new int[]{MarkerScanner.JM, MarkerScanner.IRON_GOLEM, MarkerScanner.marker("MJ")}) {
+                final int from = random.nextInt(data.length);
+                final int to = random.nextInt(data.length + 1);
+
+                assertThat(MarkerScanner.indexOf(buffer, marker, from, to)).isEqualTo(naiveIndexOf(data, marker, from, to));
+                assertThat(MarkerScanner.lastIndexOf(buffer, marker, to, from - 1)).isEqualTo(naiveLastIndexOf(data, marker, to, from - 1));
+            }
+        }
+    }
+
+    @Test
+    void matchesIgnoresByteOrderAndBounds() {
+        final ByteBuffer buffer = ByteBuffer.wrap("xxJM".getBytes()).order(ByteOrder.BIG_ENDIAN);
+
+        assertThat(MarkerScanner.matches(buffer, 2, MarkerScanner.JM)).isTrue();
+        assertThat(MarkerScanner.matches(buffer, 3, MarkerScanner.JM)).isFalse();
+        assertThat(MarkerScanner.indexOf(buffer, MarkerScanner.JM, 0, 4)).isEqualTo(2);
+    }
+
+    private static int naiveIndexOf(byte[] data, int marker, int from, int to) {
+        for (int i = from; i < to && i + 1 < data.length; i++) {
+            if (((data[i] & 0xFF) | (data[i + 1] & 0xFF) << 8) == marker) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int naiveLastIndexOf(byte[] data, int marker, int from, int downTo) {
+        for (int i = Math.min(from, data.length - 2); i > downTo && i >= 0; i--) {
+            if (((data[i] & 0xFF) | (data[i + 1] & 0xFF) << 8) == marker) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -18,6 +18,7 @@
 package io.github.paladijn.d2rsavegameparser.parser;
 
 import io.github.paladijn.d2rsavegameparser.TestCommons;
+import io.github.paladijn.d2rsavegameparser.model.CharacterSummary;
 import io.github.paladijn.d2rsavegameparser.model.CharacterType;
 import io.github.paladijn.d2rsavegameparser.model.D2Character;
 import io.github.paladijn.d2rsavegameparser.model.Item;
@@ -33,7 +34,10 @@ import org.junit.jupiter.params.provider.CsvSource;
 import org.slf4j.Logger;
 
 import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
@@ -67,6 +71,121 @@ class CharacterParserTest {
                 .withMessage("Unsupported version: 98");
     }
 
+    @Test
+    void parseOnlyTheSelectedSections() {
+        final ParseOptions headerAndAttributes = new ParseOptions.ParseOptionsBuilder().attributes(true).build();
+
+        final D2Character full = cut.parse(TestCommons.getBuffer("3.1.91636/Fjoerich.d2s"));
+        final D2Character partial = cut.parse(TestCommons.getBuffer("3.1.91636/Fjoerich.d2s"), headerAndAttributes);
+
+        assertThat(partial.name()).isEqualTo(full.name());
+        assertThat(partial.level()).isEqualTo(full.level());
+        assertThat(partial.attributes()).isEqualTo(full.attributes());
+        assertThat(full.items()).isNotEmpty();
+        assertThat(partial.items()).isEmpty();
+        assertThat(partial.skills()).isEmpty();
+        assertThat(partial.waypoints()).isEmpty();
+    }
+
+    @Test
+    void parseCharacterFile() throws Exception {
+        final Path path = Path.of(ClassLoader.getSystemResource("3.1.91636/Fjoerich.d2s").toURI());
+
+        final D2Character fromFile = cut.parse(path);
+
+        assertThat(fromFile).isEqualTo(cut.parse(TestCommons.getBuffer("3.1.91636/Fjoerich.d2s")));
+    }
+
+    @Test
+    void throwExceptionOnMissingFile() {
+        final Path path = Path.of("does-not-exist.d2s");
+
+        assertThatExceptionOfType(ParseException.class)
+                .isThrownBy(() -> cut.parse(path))
+                .withMessage("Could not read does-not-exist.d2s");
+    }
+
+    @Test
+    void decodeItemSectionsConcurrently() {
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            final CharacterParser concurrent = new CharacterParser(false, executor);
+
+            final D2Character parsed = concurrent.parse(TestCommons.getBuffer("3.1.91636/Fjoerich.d2s"));
+
+            assertThat(parsed).isEqualTo(cut.parse(TestCommons.getBuffer("3.1.91636/Fjoerich.d2s")));
+            assertThat(parsed.items()).isNotEmpty();
+            assertThat(parsed.mercenary().items()).hasSize(3);
+        }
+    }
+
+    @Test
+    void skipAFakeCorpseHeaderInsideTheItemData() {
+        final List<Item> expected = cut.parse(TestCommons.getBuffer("3.1.91636/Fjoerich.d2s")).items();
+        // overwrite four bytes inside the item data with "JM" and a count of 0, the real corpse header at 3075 is followed by "jf"
+        final ByteBuffer buffer = TestCommons.getBuffer("3.1.91636/Fjoerich.d2s");
+        buffer.put(2960, (byte) 'J').put(2961, (byte) 'M').putShort(2962, (short) 0);
+        final D2sSectionIndex index = D2sSectionIndex.of(buffer);
+        assertThat(index.offset(D2sSectionIndex.Section.CORPSE)).isEqualTo(3075);
+        assertThat(index.end(D2sSectionIndex.Section.ITEMS)).isEqualTo(3075);
+
+        final D2Character d2Character = cut.parse(buffer);
+
+        assertThat(d2Character.items()).extracting(Item::code).isEqualTo(expected.stream().map(Item::code).toList());
+    }
+
+    @Test
+    void streamItemsUntilTheFirstMatch() {
+        final ByteBuffer buffer = TestCommons.getBuffer("3.1.91636/Fjoerich.d2s");
+        final D2Character full = cut.parse(TestCommons.getBuffer("3.1.91636/Fjoerich.d2s"));
+
+        final ItemCursor cursor = cut.itemCursor(buffer, D2sSectionIndex.Section.ITEMS);
+        final Item first = cursor.stream().filter(item -> item.code().equals(full.items().get(2).code())).findFirst().orElseThrow();
+
+        assertThat(first.code()).isEqualTo(full.items().get(2).code());
+        assertThat(cursor.estimateSize()).isEqualTo(full.items().size() - 3);
+        assertThat(cut.itemCursor(buffer, D2sSectionIndex.Section.MERCENARY).stream().toList()).isEqualTo(full.mercenary().items());
+        assertThat(cut.itemCursor(buffer, D2sSectionIndex.Section.CORPSE).stream()).isEmpty();
+    }
+
+    @Test
+    void throwExceptionOnUnknownCharacterClass() {
+        final ByteBuffer buffer = TestCommons.getBuffer("3.1.91636/Fjoerich.d2s");
+        buffer.put(24, (byte) -1);
+
+        assertThatExceptionOfType(ParseException.class)
+                .isThrownBy(() -> CharacterParser.probe(buffer))
+                .withMessage("Unknown character class -1");
+        assertThatExceptionOfType(ParseException.class)
+                .isThrownBy(() -> cut.parse(buffer))
+                .withMessage("Unknown character class -1");
+    }
+
+    @Test
+    void probeMatchesTheFullParse() {
+        final D2Character full = cut.parse(TestCommons.getBuffer("3.1.91636/Fjoerich.d2s"));
+
+        final CharacterSummary summary = CharacterParser.probe(TestCommons.getBuffer("3.1.91636/Fjoerich.d2s"));
+
+        assertThat(summary.fileData()).isEqualTo(full.fileData());
+        assertThat(summary.name()).isEqualTo(full.name());
+        assertThat(summary.characterType()).isEqualTo(full.characterType());
+        assertThat(summary.level()).isEqualTo(full.level());
+        assertThat(summary.hardcore()).isEqualTo(full.hardcore());
+        assertThat(summary.died()).isEqualTo(full.died());
+        assertThat(summary.lordOfDestruction()).isEqualTo(full.lordOfDestruction());
+        assertThat(summary.reignOfTheWarlock()).isEqualTo(full.reignOfTheWarlock());
+        assertThat(summary.actProgression()).isEqualTo(full.actProgression());
+    }
+
+    @Test
+    void bonusesRequireItemsAndSkills() {
+        final ParseOptions.ParseOptionsBuilder builder = new ParseOptions.ParseOptionsBuilder().items(true).bonuses(true);
+
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(builder::build)
+                .withMessage("The set and passive skill bonuses can only be resolved when parsing the items and skills");
+    }
+
     @Test
     void throwExceptionOnWrongFileHeader() {
         final ByteBuffer buffer = TestCommons.getBuffer("logback.xml");
@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2026   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.parser;
+
+import io.github.paladijn.d2rsavegameparser.TestCommons;
+import io.github.paladijn.d2rsavegameparser.parser.D2sSectionIndex.Section;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class D2sSectionIndexTest {
+
+    @Test
+    void sectionsFollowEachOther() {
+        final ByteBuffer buffer = TestCommons.getBuffer("3.1.91636/Fjoerich.d2s");
+
+        final D2sSectionIndex index = D2sSectionIndex.of(buffer);
+
+        assertThat(index.offset(Section.HEADER)).isZero();
+        Section previous = null;
+        for (Section section : Section.values()) {
+            assertThat(index.isPresent(section)).as(section.name()).isTrue();
+            if (previous != null) {
+                assertThat(index.offset(section)).as(section.name()).isEqualTo(index.end(previous));
+            }
+            previous = section;
+        }
+        assertThat(index.end(Section.IRON_GOLEM)).isEqualTo(buffer.limit());
+        assertThat(index.offset(Section.QUESTS)).isEqualTo(CharacterParser.QUEST_START_INDEX);
+    }
+
+    @Test
+    void skipJMInsideTheItemData() {
+        // the item data of this character contains "JM" at index 2826, the corpse header follows at 3075
+        final D2sSectionIndex index = D2sSectionIndex.of(TestCommons.getBuffer("3.1.91636/Fjoerich.d2s"));
+
+        assertThat(index.offset(Section.CORPSE)).isEqualTo(3075);
+        assertThat(index.length(Section.CORPSE)).isEqualTo(4);
+    }
+
+    @Test
+    void sliceStartsWithTheSectionHeader() {
+        final ByteBuffer buffer = TestCommons.getBuffer("3.1.91636/Fjoerich.d2s");
+        final D2sSectionIndex index = D2sSectionIndex.of(buffer);
+
+        final ByteBuffer golem = index.slice(buffer, Section.IRON_GOLEM);
+
+        assertThat(golem.get(0)).isEqualTo((byte) 'k');
+        assertThat(golem.get(1)).isEqualTo((byte) 'f');
+        assertThat(index.slice(buffer, Section.ITEMS).get(1)).isEqualTo((byte) 'M');
+    }
+
+    @Test
+    void throwExceptionOnWrongFileHeader() {
+        final ByteBuffer buffer = TestCommons.getBuffer("logback.xml");
+
+        assertThatExceptionOfType(ParseException.class)
+                .isThrownBy(() -> D2sSectionIndex.of(buffer))
+                .withMessage("Wrong fileHeader 1852793660, this is not a Diablo II saveGame file");
+    }
+}
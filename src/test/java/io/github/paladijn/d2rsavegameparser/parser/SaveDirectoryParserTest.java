@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2026   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.parser;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SaveDirectoryParserTest {
+
+    private final SaveDirectoryParser cut = new SaveDirectoryParser(2);
+
+    @Test
+    void parseAllFilesInTheDirectory(@TempDir Path directory) throws Exception {
+        final Path resources = Path.of(ClassLoader.getSystemResource("3.1.91735").toURI());
+        Files.copy(resources.resolve(SharedStashParser.SOFTCORE_SHARED_STASH), directory.resolve(SharedStashParser.SOFTCORE_SHARED_STASH));
+        Files.createDirectory(directory.resolve("account"));
+        Files.copy(resources.resolve("Chronicle.d2s"), directory.resolve("account/Chronicle.d2s"));
+        Files.writeString(directory.resolve("account/broken.d2s"), "not a savegame");
+        Files.writeString(directory.resolve("notes.txt"), "ignored");
+
+        final List<SaveDirectoryParser.Result> results;
+        try (Stream<SaveDirectoryParser.Result> stream = cut.parse(directory)) {
+            results = stream.toList();
+        }
+
+        assertThat(results).hasSize(3);
+        assertThat(results).anySatisfy(result -> {
+            assertThat(result).isInstanceOf(SaveDirectoryParser.CharacterResult.class);
+            assertThat(((SaveDirectoryParser.CharacterResult) result).character().name()).isEqualTo("Chronicle");
+        });
+        assertThat(results).anySatisfy(result -> {
+            assertThat(result).isInstanceOf(SaveDirectoryParser.SharedStashResult.class);
+            assertThat(((SaveDirectoryParser.SharedStashResult) result).tabs()).hasSize(3);
+        });
+        assertThat(results).anySatisfy(result -> {
+            assertThat(result.path().getFileName()).hasToString("broken.d2s");
+            assertThat(result).isInstanceOf(SaveDirectoryParser.Failure.class);
+            assertThat(((SaveDirectoryParser.Failure) result).exception())
+                    .hasMessage("Less than 335 bytes read (14), either the file is locked, or this is not a valid .d2s file");
+        });
+    }
+
+    @Test
+    @Timeout(10)
+    void everyFileGetsAResultWhenParsingEndsInAnError(@TempDir Path directory) throws Exception {
+        for (String name : List.of("a.d2s", "b.d2s", "c.d2s", "d.d2s")) {
+            Files.writeString(directory.resolve(name), name);
+        }
+        final SaveDirectoryParser.FileParser throwingParser = path -> switch (path.getFileName().toString()) {
+            case "a.d2s" -> throw new StackOverflowError();
+            case "b.d2s" -> throw new OutOfMemoryError("stubbed");
+            default -> new SaveDirectoryParser.SharedStashResult(path, List.of());
+        };
+        // a single worker, which stops after the OutOfMemoryError, leaving c and d unparsed
+        final SaveDirectoryParser parser = new SaveDirectoryParser(1, () -> throwingParser);
+
+        final Map<String, SaveDirectoryParser.Result> results;
+        try (Stream<SaveDirectoryParser.Result> stream = parser.parse(directory)) {
+            results = stream.collect(Collectors.toMap(result -> result.path().getFileName().toString(), result -> result));
+        }
+
+        assertThat(results).containsOnlyKeys("a.d2s", "b.d2s", "c.d2s", "d.d2s");
+        assertThat(((SaveDirectoryParser.Failure) results.get("a.d2s")).exception()).hasCauseInstanceOf(StackOverflowError.class);
+        assertThat(((SaveDirectoryParser.Failure) results.get("b.d2s")).exception()).hasCauseInstanceOf(OutOfMemoryError.class);
+        assertThat(((SaveDirectoryParser.Failure) results.get("c.d2s")).exception())
+                .hasMessageEndingWith("c.d2s, all workers stopped on an error");
+    }
+
+    @Test
+    void emptyDirectory(@TempDir Path directory) {
+        try (Stream<SaveDirectoryParser.Result> stream = cut.parse(directory)) {
+            assertThat(stream).isEmpty();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2026   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.parser;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class SaveFilesTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void readSmallFilesOntoTheHeap() throws IOException {
+        final Path path = Files.write(tempDir.resolve("small.d2s"), new byte[] {1, 2, 3, 4});
+
+        final ByteBuffer buffer = SaveFiles.parse(path, b -> b);
+
+        assertThat(buffer.isDirect()).isFalse();
+        assertThat(buffer.remaining()).isEqualTo(4);
+        assertThat(buffer.getInt(0)).isEqualTo(0x04030201);
+    }
+
+    @Test
+    void mapBigFiles() throws IOException {
+        final Path path = tempDir.resolve("big.d2i");
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.setLength(SaveFiles.MAP_THRESHOLD);
+        }
+
+        final ByteBuffer buffer = SaveFiles.parse(path, b -> b);
+
+        assertThat(buffer.isDirect()).isTrue();
+        assertThat(buffer.remaining()).isEqualTo(SaveFiles.MAP_THRESHOLD);
+    }
+
+    @Test
+    void reportAFileChangingWhileParsedAsParseException() throws IOException {
+        final Path path = Files.write(tempDir.resolve("changed.d2s"), new byte[] {1, 2, 3, 4});
+
+        assertThatExceptionOfType(ParseException.class)
+                .isThrownBy(() -> SaveFiles.parse(path, b -> {
+                    // what the JVM throws when a mapped page is no longer backed by the file
+                    throw new InternalError("a fault occurred in an unsafe memory access operation");
+                }))
+                .withMessage("Could not read %s, the file changed while it was being parsed", path)
+                .withCauseInstanceOf(InternalError.class);
+    }
+}
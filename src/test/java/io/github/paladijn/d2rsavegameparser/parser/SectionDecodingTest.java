@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2026   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class SectionDecodingTest {
+
+    @Test
+    void awaitAllWaitsForEverySection() {
+        final CompletableFuture<String> first = SectionDecoding.decode(Runnable::run, () -> "first");
+        final CompletableFuture<String> second = SectionDecoding.decode(Runnable::run, () -> "second");
+
+        SectionDecoding.awaitAll(first, null, second);
+
+        assertThat(first).isCompletedWithValue("first");
+        assertThat(second).isCompletedWithValue("second");
+    }
+
+    @Test
+    void rethrowErrorsLikeOnTheCallingThread() {
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            final CompletableFuture<Integer> overflowing = SectionDecoding.decode(executor, () -> {
+                throw new StackOverflowError("deeply nested item");
+            });
+
+            assertThatExceptionOfType(StackOverflowError.class)
+                    .isThrownBy(() -> SectionDecoding.awaitAll(overflowing))
+                    .withMessage("deeply nested item");
+        }
+    }
+
+    @Test
+    void cancelTheOtherSectionsWhenOneFails() {
+        // collect the tasks instead of running them, so the test decides when each section is decoded
+        final List<Runnable> tasks = new ArrayList<>();
+        final Executor executor = tasks::add;
+        final AtomicInteger decoded = new AtomicInteger();
+        final CompletableFuture<Integer> failing = SectionDecoding.decode(executor, () -> {
+            throw new ParseException("damaged section");
+        });
+        final CompletableFuture<Integer> second = SectionDecoding.decode(executor, decoded::incrementAndGet);
+        final CompletableFuture<Integer> third = SectionDecoding.decode(executor, decoded::incrementAndGet);
+        tasks.getFirst().run();
+
+        assertThatExceptionOfType(ParseException.class)
+                .isThrownBy(() -> SectionDecoding.awaitAll(failing, second, third))
+                .withMessage("damaged section");
+
+        tasks.forEach(Runnable::run);
+        assertThat(second).isCancelled();
+        assertThat(third).isCancelled();
+        assertThat(decoded).hasValue(0);
+    }
+}
@@ -24,15 +24,24 @@ import io.github.paladijn.d2rsavegameparser.model.ItemQuality;
 import io.github.paladijn.d2rsavegameparser.model.SharedStashTab;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 
 class SharedStashParserTest {
@@ -62,6 +71,98 @@ class SharedStashParserTest {
         assertThat(tab3.items()).hasSize(94);
     }
 
+    @Test
+    void parseMappedStashFile() throws Exception {
+        final Path path = Path.of(ClassLoader.getSystemResource("3.1.91735/" + SharedStashParser.SOFTCORE_SHARED_STASH).toURI());
+
+        final List<SharedStashTab> result = cut.parse(path);
+
+        assertThat(result).hasSize(3);
+        assertThat(result.getFirst().items()).hasSize(63);
+        assertThat(result.getLast().items()).hasSize(94);
+    }
+
+    @Test
+    void parseTabsConcurrently() throws IOException {
+        final byte[] stash = ClassLoader.getSystemResourceAsStream("3.1.91735/" + SharedStashParser.ROTW_SHARED_STASH).readAllBytes();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(3)) {
+            final List<SharedStashTab> result = new SharedStashParser(false, executor).parse(ByteBuffer.wrap(stash));
+
+            assertThat(result).isEqualTo(cut.parse(ByteBuffer.wrap(stash)));
+            assertThat(result).hasSize(6);
+        }
+    }
+
+    @Test
+    @Timeout(value = 10, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+    void failOnADamagedTabWithoutWaitingForTheOthers() throws IOException {
+        final ByteBuffer buffer = ByteBuffer.wrap(ClassLoader.getSystemResourceAsStream("3.1.91735/" + SharedStashParser.SOFTCORE_SHARED_STASH).readAllBytes());
+        // damage the item list header of the last tab
+        final SharedStashView view = cut.view(buffer);
+        final int lastTabItems = view.lengthInBytes(0) + view.lengthInBytes(1) + 64;
+        buffer.put(lastTabItems, (byte) 'X');
+        // the last tab is parsed right away, the tabs before it are queued but never run
+        final AtomicInteger submitted = new AtomicInteger();
+        final List<Runnable> queued = new ArrayList<>();
+        final Executor executor = task -> {
+            if (submitted.incrementAndGet() == 3) {
+                task.run();
+            } else {
+                queued.add(task);
+            }
+        };
+
+        assertThatExceptionOfType(ParseException.class)
+                .isThrownBy(() -> new SharedStashParser(false, executor).parse(buffer))
+                .withMessage("Problem parsing item header (should be JM) at index " + lastTabItems);
+        assertThat(queued).hasSize(2);
+    }
+
+    @Test
+    void itemCountMatchesTheParsedItems() throws IOException {
+        final ByteBuffer buffer = ByteBuffer.wrap(ClassLoader.getSystemResourceAsStream("3.1.91735/" + SharedStashParser.SOFTCORE_SHARED_STASH).readAllBytes());
+        final SharedStashView view = cut.view(buffer);
+        for (int tab = 0; tab < view.tabCount(); tab++) {
+            assertThat(view.itemCount(tab)).isEqualTo(view.items(tab).size());
+        }
+
+        // a count above Short.MAX_VALUE is read the same way by the view and the parser
+        buffer.putShort(64 + 2, (short) 0x8001);
+        final SharedStashView damaged = cut.view(buffer);
+        assertThat(damaged.itemCount(0)).isEqualTo(0x8001);
+        assertThat(damaged.itemCursor(0).estimateSize()).isEqualTo(0x8001);
+    }
+
+    @Test
+    void viewParsesTabsOnDemand() throws IOException {
+        final ByteBuffer buffer = ByteBuffer.wrap(ClassLoader.getSystemResourceAsStream("3.1.91735/" + SharedStashParser.SOFTCORE_SHARED_STASH).readAllBytes());
+
+        final SharedStashView view = cut.view(buffer);
+
+        assertThat(view.tabCount()).isEqualTo(3);
+        assertThat(view.gold(0)).isEqualTo(2500000);
+        assertThat(view.lengthInBytes(0)).isEqualTo(1557);
+        assertThat(view.itemCount(2)).isEqualTo(94);
+        assertThat(view.items(1)).hasSize(61).isSameAs(view.items(1));
+        assertThat(view.tab(2)).isEqualTo(cut.parse(buffer).get(2));
+        assertThat(view.itemCursor(0).stream().limit(5).toList()).isEqualTo(view.items(0).subList(0, 5));
+    }
+
+    @Test
+    void findTabsWhenALengthIsDamaged() throws IOException {
+        final ByteBuffer buffer = ByteBuffer.wrap(ClassLoader.getSystemResourceAsStream("3.1.91735/" + SharedStashParser.SOFTCORE_SHARED_STASH).readAllBytes())
+                .order(ByteOrder.LITTLE_ENDIAN);
+        // point the length of the first tab into the middle of its items, so the next header has to be found by scanning
+        buffer.putInt(16, 100);
+
+        final SharedStashView view = cut.view(buffer);
+
+        assertThat(view.tabCount()).isEqualTo(3);
+        assertThat(view.gold(1)).isEqualTo(498118);
+        assertThat(view.items(2)).hasSize(94);
+    }
+
     @Test
     @Disabled("update to RotW stashes (both types)")
     void emptyStash() throws IOException {
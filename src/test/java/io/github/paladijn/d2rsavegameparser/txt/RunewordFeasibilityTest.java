@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2026   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.txt;
+
+import io.github.paladijn.d2rsavegameparser.model.Item;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RunewordFeasibilityTest {
+    private final RunewordFeasibility cut = new RunewordFeasibility(TXTProperties.getInstance());
+
+    @Test
+    void runeOrdinal() {
+        assertThat(RunewordFeasibility.runeOrdinal("r01")).isZero();
+        assertThat(RunewordFeasibility.runeOrdinal("r33")).isEqualTo(32);
+        assertThat(RunewordFeasibility.runeOrdinal("r34")).isEqualTo(-1);
+        assertThat(RunewordFeasibility.runeOrdinal("r00")).isEqualTo(-1);
+        assertThat(RunewordFeasibility.runeOrdinal("rin")).isEqualTo(-1);
+    }
+
+    @Test
+    void craftableOverAllItemLists() {
+        // Tal Thul Ort Amn makes Spirit; two of each spread over a character and a stash tab
+        final List<Item> character = List.of(rune("r07"), rune("r10"), rune("r09"), rune("r11"), rune("r07"));
+        final List<Item> stash = List.of(rune("r10"), rune("r09"), rune("r11"), new Item.ItemBuilder().code("rin").type("ring").build());
+
+        final int[] runeCounts = RunewordFeasibility.countRunes(List.of(character, stash));
+
+        assertThat(runeCounts[6]).isEqualTo(2);
+        final List<RunewordFeasibility.Craftable> craftable = cut.craftable(runeCounts);
+        assertThat(craftable).anySatisfy(c -> {
+            assertThat(c.runeword().getName()).isEqualTo("Spirit");
+            assertThat(c.times()).isEqualTo(2);
+        });
+        assertThat(craftable).noneSatisfy(c -> assertThat(c.runeword().getName()).isEqualTo("Enigma"));
+        assertThat(craftable).isUnmodifiable();
+    }
+
+    @Test
+    void closestMissing() {
+        // Tal Thul Ort: only Amn is missing for Spirit
+        final int[] runeCounts = RunewordFeasibility.countRunes(List.of(List.of(rune("r07"), rune("r10"), rune("r09"))));
+
+        final List<RunewordFeasibility.MissingRunes> closest = cut.closestMissing(runeCounts, 5);
+
+        assertThat(closest).hasSize(5).isUnmodifiable();
+        assertThat(cut.closestMissing(runeCounts, Integer.MAX_VALUE)).isUnmodifiable();
+        assertThat(closest.getFirst().totalMissing()).isEqualTo(1);
+        assertThat(closest).anySatisfy(m -> {
+            assertThat(m.runeword().getName()).isEqualTo("Spirit");
+            assertThat(m.missing()).isEqualTo(Map.of("r11", 1));
+        });
+    }
+
+    @Test
+    void closestMissingRejectsANegativeLimit() {
+        final int[] runeCounts = new int[RunewordFeasibility.RUNE_COUNT];
+
+        assertThatThrownBy(() -> cut.closestMissing(runeCounts, -1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("limit must not be negative, got -1");
+    }
+
+    private static Item rune(String code) {
+        return new Item.ItemBuilder().code(code).type("rune").build();
+    }
+}
@@ -17,8 +17,18 @@
  */
 package io.github.paladijn.d2rsavegameparser.txt;
 
+import io.github.paladijn.d2rsavegameparser.internal.parser.ParseHelper;
+import io.github.paladijn.d2rsavegameparser.model.ItemType;
 import org.junit.jupiter.api.Test;
 
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 class TXTPropertiesTest {
@@ -33,6 +43,19 @@ class TXTPropertiesTest {
         assertThat(grandScepter.isTwoHanded()).isFalse();
     }
 
+    @Test
+    void baseItemByPackedCode() {
+        final BaseItem giantAxe = cut.getBaseItemByCode(ParseHelper.packItemCode("gix"));
+
+        assertThat(giantAxe.itemType()).isEqualTo(ItemType.WEAPON);
+        assertThat(giantAxe.weaponStats()).isSameAs(cut.getWeaponStatsByCode("gix"));
+        assertThat(giantAxe.armorStats()).isNull();
+        assertThat(giantAxe.miscStats()).isNull();
+
+        assertThat(cut.getBaseItemByCode(ParseHelper.packItemCode("r01")).miscStats().getName()).isEqualTo("El Rune");
+        assertThat(cut.getBaseItemByCode(ParseHelper.packItemCode("zzz"))).isNull();
+    }
+
     @Test
     void setItem() {
         final SetItem ironFist = cut.getSetItemById((short) 4);
@@ -50,4 +73,35 @@ class TXTPropertiesTest {
                 .extracting(SetItem::getId, SetItem::getSetName, SetItem::getName, SetItem::getCode, SetItem::getItemName, SetItem::spawnable, SetItem::disableChronicle)
                 .containsExactly(128, "Warlord's Glory", "Warlord's Lust", "ghm", "Great Helm", false, true);
     }
+
+    @Test
+    void sameInstanceFromConcurrentCallers() throws Exception {
+        TXTProperties.preload();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            final List<Future<TXTProperties>> instances = executor.invokeAll(IntStream.range(0, 32)
+                    .mapToObj(i -> (Callable<TXTProperties>) TXTProperties::getInstance)
+                    .toList());
+            for (Future<TXTProperties> instance : instances) {
+                assertThat(instance.get()).isSameAs(cut);
+            }
+        }
+    }
+
+    @Test
+    void lookupsById() {
+        assertThat(cut.getItemStatCostsByID(17).getStat()).isEqualTo("item_maxdamage_percent");
+        assertThat(cut.getItemStatCostsByID(-1)).isNull();
+        assertThat(cut.getItemStatCostsByID(100_000)).isNull();
+        assertThat(cut.getUniqueNameById((short) -1)).isNull();
+        assertThat(cut.getUniques()).isSortedAccordingTo(Comparator.comparingInt(UniqueItem::getId));
+        assertThat(cut.getSetItems()).isSortedAccordingTo(Comparator.comparingInt(SetItem::getId));
+    }
+
+    @Test
+    void runewordByRunes() {
+        assertThat(cut.getRunewordByRunes("TalThulOrtAmn").getName()).isEqualTo("Spirit");
+        assertThat(cut.getRunewordByRunes("TalThulOrt")).isNull();
+        assertThat(cut.getRunewords()).isSameAs(cut.getRunewords());
+    }
 }
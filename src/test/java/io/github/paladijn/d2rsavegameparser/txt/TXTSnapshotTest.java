@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2026   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.txt;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TXTSnapshotTest {
+    private static final TXTProperties parsed = new TXTProperties(TXTSource.classpath(), null);
+    private static byte[] snapshotData;
+
+    private static TXTProperties fromSnapshot;
+
+    @BeforeAll
+    static void createSnapshot() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        parsed.writeSnapshot(out);
+        snapshotData = out.toByteArray();
+        fromSnapshot = new TXTProperties(TXTSource.classpath(), new TXTSnapshot(snapshotData));
+    }
+
+    @Test
+    void itemsMatchTheTxtFiles() {
+        assertThat(fromSnapshot.getWeaponStatsByCode("gix")).usingRecursiveComparison().isEqualTo(parsed.getWeaponStatsByCode("gix"));
+        assertThat(fromSnapshot.getArmorStatsByCode("uap")).usingRecursiveComparison().isEqualTo(parsed.getArmorStatsByCode("uap"));
+        assertThat(fromSnapshot.getMiscItemsByCode("r33")).usingRecursiveComparison().isEqualTo(parsed.getMiscItemsByCode("r33"));
+        assertThat(fromSnapshot.getGemsAndRunesByCode("r33").getAllProperties()).isEqualTo(parsed.getGemsAndRunesByCode("r33").getAllProperties());
+        assertThat(fromSnapshot.getItemStatCostsByID(17)).usingRecursiveComparison().isEqualTo(parsed.getItemStatCostsByID(17));
+    }
+
+    @Test
+    void namedItemsMatchTheTxtFiles() {
+        assertThat(fromSnapshot.getUniques()).usingRecursiveFieldByFieldElementComparator().isEqualTo(parsed.getUniques());
+        assertThat(fromSnapshot.getSetItems()).usingRecursiveFieldByFieldElementComparator().isEqualTo(parsed.getSetItems());
+        assertThat(fromSnapshot.getSetNames()).isEqualTo(parsed.getSetNames());
+        assertThat(fromSnapshot.getRunewords()).usingRecursiveFieldByFieldElementComparator().isEqualTo(parsed.getRunewords());
+
+        final SetData snapshotSet = fromSnapshot.getSetDataByName("Tal Rasha's Wrappings");
+        final SetData parsedSet = parsed.getSetDataByName("Tal Rasha's Wrappings");
+        assertThat(snapshotSet.getItemIDs()).isEqualTo(parsedSet.getItemIDs());
+        assertThat(snapshotSet.getPartialBonuses()).isEqualTo(parsedSet.getPartialBonuses());
+        assertThat(snapshotSet.getFullBonuses()).isEqualTo(parsedSet.getFullBonuses());
+    }
+
+    @Test
+    void affixesAndTreasureClassesMatchTheTxtFiles() {
+        assertThat(fromSnapshot.getRarePrefixById(5)).isEqualTo(parsed.getRarePrefixById(5));
+        assertThat(fromSnapshot.getRareSuffixById(5)).isEqualTo(parsed.getRareSuffixById(5));
+        assertThat(fromSnapshot.getMagicPrefix(100)).usingRecursiveComparison().isEqualTo(parsed.getMagicPrefix(100));
+        assertThat(fromSnapshot.getMagicSuffix(100)).usingRecursiveComparison().isEqualTo(parsed.getMagicSuffix(100));
+        assertThat(fromSnapshot.getTreasureClass("Shako")).isEqualTo(parsed.getTreasureClass("Shako"));
+        assertThat(fromSnapshot.getTreasureClassByCode("uap")).isEqualTo(parsed.getTreasureClassByCode("uap"));
+    }
+
+    @Test
+    void rejectOtherFormatVersion() {
+        final byte[] otherVersion = snapshotData.clone();
+        otherVersion[5]++;
+
+        assertThatThrownBy(() -> new TXTSnapshot(otherVersion))
+                .isInstanceOf(IOException.class)
+                .hasMessage("not a txt snapshot of format version 3");
+    }
+}
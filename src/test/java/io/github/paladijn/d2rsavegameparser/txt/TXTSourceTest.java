@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2026   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.txt;
+
+import io.github.paladijn.d2rsavegameparser.parser.ParseException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TXTSourceTest {
+
+    @Test
+    void bundledFilesMatchTheDirectory() throws IOException {
+        final TXTProperties fromDirectory = new TXTProperties(TXTSource.directory(Path.of("txt")), null);
+        final TXTProperties fromClasspath = new TXTProperties(TXTSource.classpath(), null);
+
+        assertThat(fromClasspath.getWeaponStatsByCode("gix")).usingRecursiveComparison().isEqualTo(fromDirectory.getWeaponStatsByCode("gix"));
+        assertThat(fromClasspath.getUniques()).hasSameSizeAs(fromDirectory.getUniques());
+        try (var resource = TXTSource.classpath().open("runes.txt")) {
+            assertThat(resource.readAllBytes()).isEqualTo(Files.readAllBytes(Path.of("txt/runes.txt")));
+        }
+    }
+
+    @Test
+    void readFromMemory() throws IOException {
+        final TXTSource source = TXTSource.inMemory(Map.of("runes.txt", "Name\nRunewordX".getBytes(StandardCharsets.UTF_8)));
+
+        try (var resource = source.open("runes.txt")) {
+            assertThat(new String(resource.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("Name\nRunewordX");
+        }
+        assertThatThrownBy(() -> source.open("weapons.txt"))
+                .isInstanceOf(IOException.class)
+                .hasMessage("weapons.txt not found in memory");
+    }
+
+    @Test
+    void missingFileIsAParseException() {
+        final TXTProperties txtProperties = new TXTProperties(TXTSource.inMemory(Map.of()), null);
+
+        assertThatThrownBy(txtProperties::getRunewords)
+                .isInstanceOf(ParseException.class)
+                .hasMessage("Could not parse runes.txt file");
+        assertThatThrownBy(() -> txtProperties.load(TXTTable.SETS))
+                .isInstanceOf(ParseException.class)
+                .hasMessage("Could not parse setitems.txt file");
+    }
+
+    @Test
+    void onlyLoadTheRequestedTables() throws IOException {
+        final TXTSource source = TXTSource.inMemory(Map.of("runes.txt", Files.readAllBytes(Path.of("txt/runes.txt"))));
+        final TXTProperties txtProperties = new TXTProperties(source, null);
+
+        txtProperties.load(TXTTable.RUNEWORDS);
+
+        assertThat(txtProperties.getRunewords()).isNotEmpty();
+    }
+
+    @Test
+    void sourceCannotChangeOnceLoaded() {
+        TXTProperties.preload();
+
+        assertThatThrownBy(() -> TXTProperties.useSource(TXTSource.directory(Path.of("txt"))))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}